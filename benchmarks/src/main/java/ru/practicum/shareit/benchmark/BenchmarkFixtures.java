@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс BenchmarkFixtures создаёт тестовые данные для бенчмарков без обращения к базе данных. Данные
+ * детерминированы, поэтому результаты разных запусков сравнимы между собой.
+ */
+final class BenchmarkFixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("user" + id)
+                .email("user" + id + "@mail.ru")
+                .build();
+    }
+
+    static ItemRequest request(long id, User requestor) {
+        return ItemRequest.builder()
+                .id(id)
+                .description("Нужна аккумуляторная дрель " + id)
+                .requestor(requestor)
+                .created(NOW.minusDays(id))
+                .build();
+    }
+
+    static Item item(long id, User owner, ItemRequest request) {
+        return Item.builder()
+                .id(id)
+                .name("Дрель " + id)
+                .description("Аккумуляторная дрель с двумя батареями " + id)
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build();
+    }
+
+    static Booking booking(long id, Item item, User booker) {
+        return Booking.builder()
+                .id(id)
+                .start(NOW.plusHours(id))
+                .end(NOW.plusHours(id + 1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    static List<Comment> comments(int count, Item item, User author) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(Comment.builder()
+                    .id((long) i)
+                    .text("Отличная дрель, спасибо " + i)
+                    .item(item)
+                    .author(author)
+                    .created(NOW.minusMinutes(i))
+                    .build());
+        }
+        return comments;
+    }
+
+    static List<Item> items(int count, User owner, ItemRequest request) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(item(i, owner, request));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserGuard;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк ItemServiceImpl.addBookingAndComment, который собирает ответ для каждой вещи в списках владельца и в
+ * карточке вещи. Время определяется числом комментариев, поэтому оно задаётся параметром comments. Метод не
+ * обращается к репозиториям, поэтому зависимости сервиса заменены заглушками Mockito.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+    @Param({"0", "100", "10000"})
+    private int comments;
+
+    private ItemServiceImpl itemService;
+    private Item item;
+    private User owner;
+    private User booker;
+    private List<Comment> itemComments;
+    private BookingItemDto lastBooking;
+    private BookingItemDto nextBooking;
+
+    @Setup
+    public void setUp() {
+        itemService = new ItemServiceImpl(Mockito.mock(ItemRepository.class), Mockito.mock(UserRepository.class),
+                Mockito.mock(BookingRepository.class), Mockito.mock(CommentRepository.class),
+                Mockito.mock(ItemRequestRepository.class), Mockito.mock(ItemSearchIndex.class),
+                Mockito.mock(ItemAvailabilityIndex.class), Mockito.mock(UserGuard.class),
+                Mockito.mock(EntityManager.class));
+        owner = BenchmarkFixtures.user(1);
+        booker = BenchmarkFixtures.user(2);
+        item = BenchmarkFixtures.item(1, owner, null);
+        itemComments = BenchmarkFixtures.comments(comments, item, booker);
+        lastBooking = BookingMapper.toItemBookingInfoDto(BenchmarkFixtures.booking(1, item, booker));
+        nextBooking = BookingMapper.toItemBookingInfoDto(BenchmarkFixtures.booking(2, item, booker));
+    }
+
+    @Benchmark
+    public ItemBookingDto addBookingAndCommentForOwner() {
+        return itemService.addBookingAndComment(item, owner.getId(), itemComments, lastBooking, nextBooking);
+    }
+
+    @Benchmark
+    public ItemBookingDto addBookingAndCommentForBooker() {
+        return itemService.addBookingAndComment(item, booker.getId(), itemComments, lastBooking, nextBooking);
+    }
+}
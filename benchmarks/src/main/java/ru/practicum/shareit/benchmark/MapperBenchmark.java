@@ -0,0 +1,125 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemForItemRequestResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.mapper.ItemRequestDtoMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки мапперов BookingMapper, ItemMapper, CommentMapper и ItemRequestDtoMapper. Одиночные преобразования
+ * измеряются на одном объекте, списочные — на списках размера size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"10", "1000"})
+    private int size;
+
+    private Item item;
+    private ItemDto itemDto;
+    private Booking booking;
+    private BookingDtoRequest bookingDtoRequest;
+    private User booker;
+    private List<Item> items;
+    private List<Comment> comments;
+    private List<ItemRequest> requests;
+    private Map<Long, List<ItemForItemRequestResponseDto>> requestItems;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkFixtures.user(1);
+        booker = BenchmarkFixtures.user(2);
+        ItemRequest request = BenchmarkFixtures.request(1, booker);
+        item = BenchmarkFixtures.item(1, owner, request);
+        itemDto = ItemMapper.toItemDto(item);
+        booking = BenchmarkFixtures.booking(1, item, booker);
+        bookingDtoRequest = BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .build();
+        items = BenchmarkFixtures.items(size, owner, request);
+        comments = BenchmarkFixtures.comments(size, item, booker);
+        requests = new ArrayList<>(size);
+        requestItems = new HashMap<>();
+        for (long id = 0; id < size; id++) {
+            ItemRequest itemRequest = BenchmarkFixtures.request(id, booker);
+            requests.add(itemRequest);
+            requestItems.put(id, List.of(ItemMapper.toItemForItemRequestResponseDto(
+                    BenchmarkFixtures.item(id, owner, itemRequest))));
+        }
+    }
+
+    @Benchmark
+    public Booking toBooking() {
+        return BookingMapper.toBooking(bookingDtoRequest, item, booker);
+    }
+
+    @Benchmark
+    public BookingDtoResponse toBookingDtoResponse() {
+        return BookingMapper.toBookingDtoResponseMapper(booking);
+    }
+
+    @Benchmark
+    public BookingItemDto toItemBookingInfoDto() {
+        return BookingMapper.toItemBookingInfoDto(booking);
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public Item toItem() {
+        return ItemMapper.toItem(itemDto, booker);
+    }
+
+    @Benchmark
+    public List<ItemForItemRequestResponseDto> toItemForItemRequestsResponseDto() {
+        return ItemMapper.toItemForItemRequestsResponseDto(items);
+    }
+
+    @Benchmark
+    public List<CommentDtoResponse> commentDtoList() {
+        return CommentMapper.commentDtoList(comments);
+    }
+
+    @Benchmark
+    public List<ItemRequestResponseDto> toItemRequestsResponseDto() {
+        return ItemRequestDtoMapper.toItemRequestsResponseDto(requests, requestItems);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.model.StateTypes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк StateTypes.getStateFromText, который разбирает параметр state в каждом запросе списка бронирований.
+ * Первое и последнее значения перечисления показывают разброс времени линейного поиска.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateTypesBenchmark {
+    @Param({"ALL", "waiting"})
+    private String text;
+
+    @Benchmark
+    public StateTypes getStateFromText() {
+        return StateTypes.getStateFromText(text);
+    }
+}
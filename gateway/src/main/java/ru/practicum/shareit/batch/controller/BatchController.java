@@ -0,0 +1,51 @@
+package ru.practicum.shareit.batch.controller;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import ru.practicum.shareit.batch.dto.BatchOperationRequest;
+import ru.practicum.shareit.batch.dto.BatchOperationResponse;
+import ru.practicum.shareit.batch.operation.BatchExecutor;
+
+import java.util.List;
+
+/**
+ * Класс представляет собой контроллер пакетных запросов: клиент передаёт несколько операций одним запросом и
+ * получает ответы на все операции, каждую со своим статусом.
+ */
+@Controller("GatewayBatchController")
+@RequestMapping(path = "/batch")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class BatchController {
+    private static final String userHeader = "X-Sharer-User-Id";
+    private final BatchExecutor batchExecutor;
+
+    /**
+     * Метод execute выполняет операции пакета параллельно от имени пользователя из заголовка X-Sharer-User-Id.
+     * Операции — те же запросы, что принимает шлюз, кроме самих пакетных запросов.
+     *
+     * @param userId     идентификатор пользователя или null для операций, которым он не нужен.
+     * @param operations операции пакета.
+     * @param request    пакетный запрос, заголовки которого передаются операциям.
+     * @return ответы на операции в порядке операций.
+     */
+    @PostMapping
+    public ResponseEntity<Object> execute(@RequestHeader(value = userHeader, required = false) Long userId,
+                                          @RequestBody @NotEmpty List<BatchOperationRequest> operations,
+                                          HttpServletRequest request) throws ServletException {
+        log.debug("POST пакетный запрос из {} операций userId={}", operations.size(), userId);
+        List<BatchOperationResponse> responses = batchExecutor.execute(request, operations);
+        return ResponseEntity.ok(responses);
+    }
+}
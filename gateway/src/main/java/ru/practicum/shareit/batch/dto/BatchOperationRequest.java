@@ -0,0 +1,31 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ *  Класс представляет собой DTO (объект передачи данных) для одной операции пакетного запроса.
+ *  Он содержит следующие поля:
+ *  - id - идентификатор операции, под которым возвращается её ответ; по умолчанию номер операции в пакете;
+ *  - method - HTTP-метод;
+ *  - path - путь с параметрами, например /items?from=0&size=20;
+ *  - body - тело запроса.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchOperationRequest {
+    private String id;
+    @NotBlank
+    private String method;
+    @NotBlank
+    @Pattern(regexp = "/.*")
+    private String path;
+    private JsonNode body;
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ *  Класс представляет собой DTO (объект передачи данных) для ответа на одну операцию пакетного запроса.
+ *  Он содержит следующие поля:
+ *  - id - идентификатор операции из запроса;
+ *  - status - HTTP-статус ответа;
+ *  - headers - заголовки ETag и X-Next-Cursor, если сервер их вернул;
+ *  - body - тело ответа.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchOperationResponse {
+    private final String id;
+    private final int status;
+    private final Map<String, String> headers;
+    private final JsonNode body;
+}
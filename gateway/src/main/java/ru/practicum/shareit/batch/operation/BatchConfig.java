@@ -0,0 +1,12 @@
+package ru.practicum.shareit.batch.operation;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Класс BatchConfig подключает настройки пакетных запросов shareit-gateway.batch.*.
+ */
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig {
+}
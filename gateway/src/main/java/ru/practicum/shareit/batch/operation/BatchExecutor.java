@@ -0,0 +1,224 @@
+package ru.practicum.shareit.batch.operation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.WebUtils;
+import ru.practicum.shareit.batch.dto.BatchOperationRequest;
+import ru.practicum.shareit.batch.dto.BatchOperationResponse;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Класс BatchExecutor выполняет операции пакетного запроса параллельно, каждую на своём виртуальном потоке, и
+ * собирает их ответы в порядке операций. Операция передаётся собственному DispatcherServlet шлюза как отдельный
+ * запрос, поэтому для неё работают те же сопоставление путей, значения параметров по умолчанию, перехватчики и
+ * обработчики ошибок, что и для запроса вне пакета. Одновременно на сервере выполняется не больше
+ * shareit-gateway.batch.max-parallelism операций всех пакетов, а в пакете может быть не больше
+ * shareit-gateway.batch.max-operations операций.
+ * Операции независимы: порядок их выполнения не определён, а ошибка одной операции не отменяет остальные и
+ * возвращается в её ответе со статусом, который шлюз вернул бы на отдельный запрос.
+ */
+@Slf4j
+@Component
+public class BatchExecutor {
+    private static final List<String> FORWARDED_HEADERS = List.of(HttpHeaders.ETAG, "X-Next-Cursor");
+
+    private final WebApplicationContext context;
+    private final BatchProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final Semaphore permits;
+    private DispatcherServlet dispatcher;
+
+    public BatchExecutor(WebApplicationContext context, BatchProperties properties, ObjectMapper objectMapper,
+                         Validator validator) {
+        this.context = context;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.permits = new Semaphore(properties.getMaxParallelism());
+    }
+
+    /**
+     * Метод execute выполняет операции пакета с заголовком X-Sharer-User-Id пакетного запроса.
+     *
+     * @param request    пакетный запрос.
+     * @param operations операции пакета.
+     * @return ответы на операции в порядке операций.
+     */
+    public List<BatchOperationResponse> execute(HttpServletRequest request, List<BatchOperationRequest> operations)
+            throws ServletException {
+        if (WebUtils.getNativeRequest(request, BatchServletRequest.class) != null) {
+            throw new ValidationException("Пакетный запрос не может быть операцией другого пакетного запроса");
+        }
+        if (operations.size() > properties.getMaxOperations()) {
+            throw new ValidationException("В пакете может быть не больше " + properties.getMaxOperations()
+                    + " операций, передано " + operations.size());
+        }
+        DispatcherServlet dispatcher = dispatcher(request.getServletContext());
+        Locale locale = request.getLocale();
+        List<String> ids = new ArrayList<>(operations.size());
+        List<Future<BatchOperationResponse>> futures = new ArrayList<>(operations.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < operations.size(); i++) {
+                BatchOperationRequest operation = operations.get(i);
+                String id = operation.getId() != null ? operation.getId() : String.valueOf(i);
+                ids.add(id);
+                futures.add(executor.submit(() -> executeBounded(dispatcher, request, locale, id, operation)));
+            }
+        }
+        List<BatchOperationResponse> responses = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            Future<BatchOperationResponse> future = futures.get(i);
+            responses.add(future.state() == Future.State.SUCCESS ? future.resultNow()
+                    : error(ids.get(i), HttpStatus.SERVICE_UNAVAILABLE, "Операция прервана"));
+        }
+        return responses;
+    }
+
+    private BatchOperationResponse executeBounded(DispatcherServlet dispatcher, HttpServletRequest batchRequest,
+                                                  Locale locale, String id, BatchOperationRequest operation) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(id, HttpStatus.SERVICE_UNAVAILABLE, "Операция прервана");
+        }
+        try {
+            return toResponse(id, call(dispatcher, batchRequest, locale, operation));
+        } catch (ValidationException | IllegalArgumentException e) {
+            log.debug("Операция {} пакетного запроса отклонена: {}", id, e.getMessage());
+            return error(id, HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Ошибка операции {} пакетного запроса {} {}", id, operation.getMethod(), operation.getPath(), e);
+            return error(id, HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private BatchServletResponse call(DispatcherServlet dispatcher, HttpServletRequest batchRequest, Locale locale,
+                                      BatchOperationRequest operation) throws ServletException, IOException {
+        Set<ConstraintViolation<BatchOperationRequest>> violations = validator.validate(operation);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        UriComponents uri = UriComponentsBuilder.fromUriString(operation.getPath()).build();
+        HttpMethod method = HttpMethod.valueOf(operation.getMethod().toUpperCase(Locale.ROOT));
+        JsonNode body = operation.getBody();
+        BatchServletRequest request = new BatchServletRequest(batchRequest, locale, method, uri,
+                body != null && !body.isNull() ? objectMapper.writeValueAsBytes(body) : null);
+        BatchServletResponse response = new BatchServletResponse();
+        dispatcher.service(request, response);
+        return response;
+    }
+
+    /**
+     * Создаёт при первом пакетном запросе DispatcherServlet, который выполняет операции пакетов. Он использует
+     * контекст приложения шлюза, поэтому находит те же контроллеры, перехватчики и обработчики ошибок, что и
+     * DispatcherServlet, обслуживающий отдельные запросы.
+     */
+    private synchronized DispatcherServlet dispatcher(ServletContext servletContext) throws ServletException {
+        if (dispatcher == null) {
+            DispatcherServlet servlet = new DispatcherServlet(context);
+            servlet.setPublishContext(false);
+            servlet.init(new ServletConfig() {
+                @Override
+                public String getServletName() {
+                    return "batchDispatcherServlet";
+                }
+
+                @Override
+                public ServletContext getServletContext() {
+                    return servletContext;
+                }
+
+                @Override
+                public String getInitParameter(String name) {
+                    return null;
+                }
+
+                @Override
+                public Enumeration<String> getInitParameterNames() {
+                    return Collections.emptyEnumeration();
+                }
+            });
+            dispatcher = servlet;
+        }
+        return dispatcher;
+    }
+
+    private BatchOperationResponse toResponse(String id, BatchServletResponse response) throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : FORWARDED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return new BatchOperationResponse(id, response.getStatus(), headers.isEmpty() ? null : headers,
+                readBody(response));
+    }
+
+    /**
+     * Читает тело ответа на операцию: JSON — в дерево JSON, остальное — в строку. Для ошибки без тела возвращает
+     * её сообщение в том же виде, что и обработчик ошибок шлюза.
+     */
+    private JsonNode readBody(BatchServletResponse response) throws IOException {
+        byte[] content = response.getContentAsByteArray();
+        if (content.length == 0) {
+            if (response.getStatus() < HttpStatus.BAD_REQUEST.value()) {
+                return null;
+            }
+            HttpStatus status = HttpStatus.resolve(response.getStatus());
+            String message = response.getErrorMessage() != null ? response.getErrorMessage()
+                    : status != null ? status.getReasonPhrase() : String.valueOf(response.getStatus());
+            return objectMapper.createObjectNode().put("error", message);
+        }
+        MediaType contentType = response.getHttpHeaders().getContentType();
+        if (contentType == null || contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                || contentType.getSubtype().endsWith("+json")) {
+            return objectMapper.readTree(content);
+        }
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return TextNode.valueOf(new String(content, charset));
+    }
+
+    private BatchOperationResponse error(String id, HttpStatus status, String message) {
+        return new BatchOperationResponse(id, status.value(), null,
+                objectMapper.createObjectNode().put("error", message));
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.batch.operation;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Класс BatchProperties содержит настройки пакетных запросов (свойства shareit-gateway.batch.*).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.batch")
+public class BatchProperties {
+    /**
+     * Наибольшее число операций в одном пакете.
+     */
+    private int maxOperations = 20;
+    /**
+     * Наибольшее число операций всех пакетов, одновременно выполняемых шлюзом.
+     */
+    private int maxParallelism = 8;
+}
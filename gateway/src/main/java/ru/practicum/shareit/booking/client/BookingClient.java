@@ -4,12 +4,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.cache.CacheRegion;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.SingleFlight;
 
 import java.util.Map;
 
@@ -19,15 +22,20 @@ import java.util.Map;
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private final ResponseCache responseCache;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, SingleFlight singleFlight,
+                         ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                singleFlight
         );
+        this.responseCache = responseCache;
     }
 
     /**
@@ -35,16 +43,14 @@ public class BookingClient extends BaseClient {
      *
      * @param userId идентификатор пользователя
      * @param state  состояние бронирования, которое определяет, какие объекты будут включены в ответ
+     * @param cursor курсор следующей страницы, полученный в заголовке X-Next-Cursor, или null
      * @param from   номер начальной позиции в списке результатов
      * @param size   количество объектов, которые должны быть возвращены в ответе
      */
-    public ResponseEntity<Object> getAllBookingByUser(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getAllBookingByUser(long userId, BookingState state, String cursor, Integer from,
+                                                      Integer size) {
+        Map<String, Object> parameters = pageParameters(state, cursor, from, size);
+        return get("?state={state}&cursor={cursor}&from={from}&size={size}", userId, parameters);
     }
 
     /**
@@ -54,7 +60,11 @@ public class BookingClient extends BaseClient {
      * @param requestDto объект с данными о бронировании
      */
     public ResponseEntity<Object> addBooking(long userId, BookingDtoRequest requestDto) {
-        return post("", userId, requestDto);
+        ResponseEntity<Object> response = post("", userId, requestDto);
+        if (requestDto.getItemId() != null) {
+            responseCache.invalidate(CacheRegion.ITEMS, requestDto.getItemId());
+        }
+        return response;
     }
 
     /**
@@ -68,7 +78,8 @@ public class BookingClient extends BaseClient {
     }
 
     /**
-     * Метод обновляет информацию о бронировании по идентификатору.
+     * Метод обновляет информацию о бронировании по идентификатору. Вещь бронирования шлюзу неизвестна, поэтому из
+     * кэша удаляются все вещи, прочитанные владельцем: только ему показываются бронирования вещи.
      *
      * @param bookingId уникальный идентификатор бронирования
      * @param ownerId идентификатор владельца бронирования
@@ -78,22 +89,40 @@ public class BookingClient extends BaseClient {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters);
+        ResponseEntity<Object> response = patch("/" + bookingId + "?approved={approved}", ownerId, parameters);
+        responseCache.invalidateUser(CacheRegion.ITEMS, ownerId);
+        return response;
     }
 
     /**
      * Метод получает все бронирования по идентификатору владельца
      * @param userId идентификатор владельца
      * @param state состояние бронирования, которое определяет, какие объекты будут включены в ответ
+     * @param cursor курсор следующей страницы, полученный в заголовке X-Next-Cursor, или null
      * @param from номер начальной позиции в списке результатов
      * @param size количество объектов, которые должны быть возвращены в ответе
      */
-    public ResponseEntity<Object> getAllBookingByOwner(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getAllBookingByOwner(Long userId, BookingState state, String cursor, Integer from,
+                                                       Integer size) {
+        Map<String, Object> parameters = pageParameters(state, cursor, from, size);
+        return get("/owner?state={state}&cursor={cursor}&from={from}&size={size}", userId, parameters);
+    }
+
+    /**
+     * Метод выгружает все бронирования владельца в формате NDJSON; тело ответа сервера не буферизуется.
+     *
+     * @param userId идентификатор владельца
+     */
+    public ResponseEntity<Object> exportBookingsByOwner(long userId) {
+        return get("/owner/export", userId);
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, String cursor, Integer from, Integer size) {
+        return Map.of(
                 "state", state.name(),
+                "cursor", cursor == null ? "" : cursor,
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 }
\ No newline at end of file
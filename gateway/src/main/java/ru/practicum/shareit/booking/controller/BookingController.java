@@ -37,7 +37,7 @@ public class BookingController {
     @PostMapping
     public ResponseEntity<Object> addBooking(@RequestHeader(userHeader) long userId,
                                              @RequestBody @Valid BookingDtoRequest requestDto) {
-        log.info("POST запрос на создание бронирования {}, userId={}", requestDto, userId);
+        log.debug("POST запрос на создание бронирования {}, userId={}", requestDto, userId);
         return bookingClient.addBooking(userId, requestDto);
     }
 
@@ -53,7 +53,7 @@ public class BookingController {
     public ResponseEntity<Object> updateBooking(@PathVariable("booking-id") Long bookingId,
                                                 @RequestHeader(userHeader) Long ownerId,
                                                 @RequestParam(name = "approved") boolean approved) {
-        log.info("PATCH запрос на обновление бронирования userId={} bookingId={}", ownerId, bookingId);
+        log.debug("PATCH запрос на обновление бронирования userId={} bookingId={}", ownerId, bookingId);
         return bookingClient.updateBooking(bookingId, ownerId, approved);
     }
 
@@ -67,7 +67,7 @@ public class BookingController {
     @GetMapping(path)
     public ResponseEntity<Object> getBooking(@RequestHeader(userHeader) long userId,
                                              @PathVariable("booking-id") Long bookingId) {
-        log.info("GET запрос на получение бронирования с id={}, userId={}", bookingId, userId);
+        log.debug("GET запрос на получение бронирования с id={}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
@@ -76,6 +76,7 @@ public class BookingController {
      *
      * @param userId     — идентификатор пользователя, чьи бронирования нужно получить.
      * @param stateParam — статус бронирования (ALL — все бронирования, или другой указанный статус).
+     * @param cursor     курсор из заголовка X-Next-Cursor предыдущего ответа
      * @param from       номер начальной позиции в списке результатов
      * @param size       количество объектов, которые должны быть возвращены в ответе
      * @return список ответов с информацией о бронировании в формате BookingDtoResponse.
@@ -84,13 +85,14 @@ public class BookingController {
     public ResponseEntity<Object> getAllBookingByUser(
             @RequestHeader(userHeader) long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+            @RequestParam(name = "cursor", required = false) String cursor,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
             @Positive @RequestParam(name = "size", defaultValue = "20") Integer size) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnsupportedStatusException("Неизвестный статус: " + stateParam));
-        log.info("GET запрос на получение всех бронирований state {}, userId={}, from={}, size={}", stateParam, userId,
-                from, size);
-        return bookingClient.getAllBookingByUser(userId, state, from, size);
+        log.debug("GET запрос на получение всех бронирований state {}, userId={}, cursor={}, from={}, size={}",
+                stateParam, userId, cursor, from, size);
+        return bookingClient.getAllBookingByUser(userId, state, cursor, from, size);
     }
 
     /**
@@ -98,6 +100,7 @@ public class BookingController {
      *
      * @param userId — идентификатор владельца, чьи бронирования нужно получить.
      * @param state  — статус бронирования (ALL — все бронирования, или другой указанный статус).
+     * @param cursor курсор из заголовка X-Next-Cursor предыдущего ответа
      * @param from   номер начальной позиции в списке результатов
      * @param size   количество объектов, которые должны быть возвращены в ответе
      * @return список ответов с информацией о бронировании в формате BookingDtoResponse.
@@ -105,12 +108,26 @@ public class BookingController {
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllBookingsByOwner(@RequestParam(defaultValue = "ALL") String state,
                                                         @RequestHeader(userHeader) Long userId,
+                                                        @RequestParam(required = false) String cursor,
                                                         @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                                         @Positive @RequestParam(defaultValue = "20") Integer size) {
         BookingState stateParam = BookingState.from(state)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + state));
-        log.info("GET запрос на получение бронирований владельца userId={},state {}, from={}, size={}", userId, state,
-                from, size);
-        return bookingClient.getAllBookingByOwner(userId, stateParam, from, size);
+        log.debug("GET запрос на получение бронирований владельца userId={},state {}, cursor={}, from={}, size={}", userId,
+                state, cursor, from, size);
+        return bookingClient.getAllBookingByOwner(userId, stateParam, cursor, from, size);
+    }
+
+    /**
+     * Метод для выгрузки всех бронирований владельца в формате NDJSON. Ответ сервера передаётся клиенту потоком,
+     * без чтения в память.
+     *
+     * @param userId — идентификатор владельца вещей.
+     * @return ответ сервера с бронированиями, по одному в строке.
+     */
+    @GetMapping("/owner/export")
+    public ResponseEntity<Object> exportBookingsByOwner(@RequestHeader(userHeader) long userId) {
+        log.debug("GET запрос на выгрузку бронирований владельца userId={}", userId);
+        return bookingClient.exportBookingsByOwner(userId);
     }
 }
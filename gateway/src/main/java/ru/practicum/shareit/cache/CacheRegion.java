@@ -0,0 +1,19 @@
+package ru.practicum.shareit.cache;
+
+/**
+ * Перечисление CacheRegion задаёт виды ресурсов, ответы на чтение которых кэширует шлюз.
+ */
+public enum CacheRegion {
+    /**
+     * GET /items/{id}: ответ зависит от пользователя, владельцу вещи показываются её бронирования.
+     */
+    ITEMS,
+    /**
+     * GET /users/{id}.
+     */
+    USERS,
+    /**
+     * GET /requests/{id}: запрос вместе с вещами, созданными в ответ на него.
+     */
+    REQUESTS
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.client.ResponseBuffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Класс ResponseCache хранит ответы сервера на чтение отдельных ресурсов (вещь, пользователь, запрос) с ключом по
+ * виду ресурса, его идентификатору и пользователю из заголовка X-Sharer-User-Id. Все записи проходят через клиенты
+ * шлюза, которые после передачи изменяющего запроса серверу удаляют затронутые ответы из кэша.
+ * Кэшируются только ответы 200 с телом не больше maxEntrySize; суммарный размер тел ограничен maxSize, время жизни
+ * ответа — ttl. Обращения к кэшу публикуются в метриках cache.gets{cache=gateway.responses,result=hit|miss}, вытеснения
+ * — в cache.evictions.
+ */
+public class ResponseCache {
+    public static final String CACHE_NAME = "gateway.responses";
+    /**
+     * Оценка размера ключа, заголовков и служебных объектов записи сверх тела ответа.
+     */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final ResponseCacheProperties properties;
+    private final Cache<Key, CachedResponse> cache;
+    /**
+     * Счётчик удалений из кэша. Ответ, загрузка которого пересеклась с удалением, мог быть прочитан до изменения
+     * ресурса, поэтому после сохранения счётчик проверяется ещё раз, и такой ответ удаляется.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((Key key, CachedResponse response) -> response.body().length + ENTRY_OVERHEAD)
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Метод get возвращает сохранённый ответ или загружает его с сервера и сохраняет, если ответ можно кэшировать.
+     *
+     * @param region вид ресурса.
+     * @param id     идентификатор ресурса.
+     * @param userId идентификатор пользователя, от имени которого читается ресурс, или null.
+     * @param loader запрос к серверу.
+     */
+    public ResponseEntity<Object> get(CacheRegion region, long id, Long userId,
+                                      Supplier<ResponseEntity<Object>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        Key key = new Key(region, id, userId);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return ResponseEntity.ok().headers(cached.headers()).body(cached.body());
+        }
+        long invalidationsBefore = invalidations.get();
+        ResponseEntity<Object> response = loader.get();
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return response;
+        }
+        long limit = properties.getMaxEntrySize().toBytes();
+        ResponseEntity<Object> buffered = ResponseBuffer.buffer(response, limit);
+        if (!(buffered.getBody() instanceof byte[] body) || body.length > limit) {
+            return buffered;
+        }
+        CachedResponse loaded = new CachedResponse(buffered.getHeaders(), body);
+        cache.put(key, loaded);
+        if (invalidations.get() != invalidationsBefore) {
+            cache.asMap().remove(key, loaded);
+        }
+        return buffered;
+    }
+
+    /**
+     * Метод invalidations возвращает число удалений из кэша. По нему {@link ru.practicum.shareit.client.SingleFlight}
+     * не отдаёт читателю ответ обращения к серверу, начатого до удаления: такой ответ прошёл бы проверку счётчика в
+     * {@link #get} и остался бы в кэше до конца времени жизни.
+     */
+    public long invalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * Метод invalidate удаляет ответы о ресурсе для всех пользователей.
+     */
+    public void invalidate(CacheRegion region, long id) {
+        removeIf(key -> key.region() == region && key.id() == id);
+    }
+
+    /**
+     * Метод invalidateUser удаляет все ответы вида region, полученные пользователем userId.
+     */
+    public void invalidateUser(CacheRegion region, long userId) {
+        removeIf(key -> key.region() == region && key.userId() != null && key.userId() == userId);
+    }
+
+    /**
+     * Метод invalidateRegion удаляет все ответы вида region.
+     */
+    public void invalidateRegion(CacheRegion region) {
+        removeIf(key -> key.region() == region);
+    }
+
+    /**
+     * Метод invalidateAll очищает кэш.
+     */
+    public void invalidateAll() {
+        removeIf(key -> true);
+    }
+
+    private void removeIf(Predicate<Key> predicate) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(predicate);
+    }
+
+    private record Key(CacheRegion region, long id, Long userId) {
+    }
+
+    private record CachedResponse(HttpHeaders headers, byte[] body) {
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Класс ResponseCacheConfig создаёт кэш ответов шлюза, общий для всех клиентов. Кэш выключается свойством
+ * shareit-gateway.response-cache.enabled=false.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        return new ResponseCache(properties, registry);
+    }
+}
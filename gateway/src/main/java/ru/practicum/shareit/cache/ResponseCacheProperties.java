@@ -0,0 +1,34 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Класс ResponseCacheProperties содержит настройки кэша ответов шлюза (свойства shareit-gateway.response-cache.*).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.response-cache")
+public class ResponseCacheProperties {
+    /**
+     * Включает кэш; если выключен, все запросы передаются серверу.
+     */
+    private boolean enabled = true;
+    /**
+     * Время жизни ответа в кэше. Ограничивает устаревание ответов, которые меняются без записи через шлюз, например
+     * последнее и следующее бронирование вещи с течением времени.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+    /**
+     * Суммарный размер тел ответов в кэше.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+    /**
+     * Ответы с телом больше этого размера не кэшируются.
+     */
+    private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+}
@@ -1,32 +1,51 @@
 package ru.practicum.shareit.client;
 
 import io.micrometer.common.lang.Nullable;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    /**
+     * Заголовки соединения, которые относятся к одному участку передачи и не пересылаются клиенту шлюза.
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization");
+
     protected final RestTemplate rest;
+    private final HttpMessageConverter<Object> jsonConverter;
+    @Nullable
+    private final SingleFlight singleFlight;
 
     public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+        this(rest, null);
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
-
-        return responseBuilder.build();
+    /**
+     * @param singleFlight объединение одновременных одинаковых GET-запросов или null, если запросы не объединяются.
+     */
+    public BaseClient(RestTemplate rest, @Nullable SingleFlight singleFlight) {
+        this.rest = rest;
+        this.singleFlight = singleFlight;
+        this.jsonConverter = rest.getMessageConverters().stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(MappingJackson2HttpMessageConverter.class::cast)
+                .findFirst()
+                .orElseGet(MappingJackson2HttpMessageConverter::new);
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -41,6 +60,16 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * Метод getIfNoneMatch отправляет GET-запрос с заданным заголовком If-None-Match, а не с заголовком входящего
+     * запроса шлюза. Используется для обращений к серверу вне обработки запросов клиентов.
+     *
+     * @param ifNoneMatch ETag полученного ранее ответа или null.
+     */
+    protected ResponseEntity<Object> getIfNoneMatch(String path, @Nullable String ifNoneMatch) {
+        return makeAndSendRequest(HttpMethod.GET, path, null, null, null, ifNoneMatch);
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -95,21 +124,76 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Метод makeAndSendRequest отправляет запрос на сервер и возвращает его ответ без разбора тела: статус,
+     * заголовки и поток байтов тела передаются клиенту шлюза как есть. Тело ответа оборачивается в
+     * InputStreamResource, который копируется в ответ шлюза порциями; после копирования поток закрывается,
+     * и соединение возвращается в пул. Одновременные одинаковые GET-запросы объединяются через {@link SingleFlight}.
+     */
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(method, path, userId, parameters, body,
+                method == HttpMethod.GET ? currentIfNoneMatch() : null);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          @Nullable String ifNoneMatch) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+        if (method == HttpMethod.GET && singleFlight != null) {
+            return singleFlight.execute(uri, userId, ifNoneMatch,
+                    () -> send(method, uri, userId, ifNoneMatch, body));
+        }
+        return send(method, uri, userId, ifNoneMatch, body);
+    }
+
+    private <T> ResponseEntity<Object> send(HttpMethod method, URI uri, Long userId, @Nullable String ifNoneMatch,
+                                            @Nullable T body) {
+        ClientHttpResponse response = null;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            request.getHeaders().putAll(defaultHeaders(userId));
+            if (ifNoneMatch != null) {
+                request.getHeaders().set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+            if (body != null) {
+                jsonConverter.write(body, MediaType.APPLICATION_JSON, request);
+            }
+            response = request.execute();
+            return toGatewayResponse(response);
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
+            }
+            throw new ResourceAccessException("Ошибка обращения к серверу ShareIt: " + e.getMessage(), e);
+        }
+    }
+
+    private static ResponseEntity<Object> toGatewayResponse(ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        });
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode()).headers(headers);
+        if (headers.getContentLength() == 0 || response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            response.close();
+            return responseBuilder.build();
+        }
+        return responseBuilder.body(new InputStreamResource(response.getBody()));
+    }
+
+    /**
+     * Метод currentIfNoneMatch возвращает заголовок If-None-Match входящего запроса шлюза. Он передаётся серверу,
+     * чтобы сервер мог ответить 304 без построения тела, если данные не изменились с прошлого ответа.
+     */
+    @Nullable
+    private static String currentIfNoneMatch() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return null;
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
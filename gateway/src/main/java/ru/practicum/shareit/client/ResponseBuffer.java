@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Класс ResponseBuffer читает потоковое тело ответа сервера в массив байтов, чтобы один ответ можно было отдать
+ * нескольким клиентам шлюза.
+ */
+@UtilityClass
+public class ResponseBuffer {
+    /**
+     * Метод buffer возвращает копию ответа с телом byte[], если тело не больше limit байтов. Ответ с большим телом
+     * возвращается с потоком, который начинается с уже прочитанных байтов, и передаётся клиенту как раньше.
+     *
+     * @param response ответ сервера из {@link BaseClient}.
+     * @param limit    наибольший размер тела в байтах.
+     * @return ответ с телом byte[] или без тела либо ответ с потоковым телом, если тело больше limit.
+     */
+    public ResponseEntity<Object> buffer(ResponseEntity<Object> response, long limit) {
+        if (!(response.getBody() instanceof Resource resource) || response.getHeaders().getContentLength() > limit) {
+            return response;
+        }
+        byte[] body;
+        InputStream in;
+        try {
+            in = resource.getInputStream();
+            body = in.readNBytes((int) limit + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (body.length > limit) {
+            InputStream rest = new SequenceInputStream(new ByteArrayInputStream(body), in);
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .body(new InputStreamResource(rest));
+        }
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // тело прочитано полностью, ошибка закрытия потока на ответ не влияет
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.setContentLength(body.length);
+        return new ResponseEntity<>(body, HttpHeaders.readOnlyHttpHeaders(headers), response.getStatusCode());
+    }
+
+    /**
+     * Метод isBuffered проверяет, что тело ответа не потоковое и ответ можно отдать повторно.
+     */
+    public boolean isBuffered(ResponseEntity<Object> response) {
+        return !(response.getBody() instanceof Resource);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс ShareItServerPoolProperties содержит настройки пула HTTP-соединений шлюза с сервером ShareIt
+ * (свойства shareit-server.pool.*).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.pool")
+public class ShareItServerPoolProperties {
+    /**
+     * Максимальное число соединений в пуле.
+     */
+    private int maxConnections = 200;
+    /**
+     * Максимальное число соединений с одним хостом.
+     */
+    private int maxConnectionsPerRoute = 200;
+    /**
+     * Время ожидания установки соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Время ожидания ответа сервера.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+    /**
+     * Время ожидания свободного соединения из пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+    /**
+     * Время удержания соединения, если сервер не прислал заголовок Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+    /**
+     * Соединения, простаивающие дольше этого времени, закрываются фоновым потоком.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(60);
+    /**
+     * Соединение, простаивавшее дольше этого времени, проверяется перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Класс SingleFlight объединяет одновременные одинаковые GET-запросы к серверу: совпадают адрес с параметрами,
+ * пользователь из заголовка X-Sharer-User-Id и заголовок If-None-Match. Первый запрос обращается к серверу, а
+ * пришедшие, пока он выполняется, ждут его ответа. Тело читается в память только если ответа кто-то ждёт и оно не
+ * больше maxBodySize; иначе ожидающие запросы обращаются к серверу сами. Ошибка обращения к серверу передаётся всем
+ * ожидающим запросам.
+ * Запрос присоединяется только к обращению, начатому не раньше последнего изменения данных через шлюз (счётчик
+ * changes, например число удалений из кэша ответов): ответ обращения, начатого до изменения, может быть устаревшим,
+ * и читатель, пришедший после изменения, не должен его получить и сохранить в кэш. Такой запрос обращается к серверу
+ * сам, и следующие одинаковые запросы присоединяются уже к нему.
+ * Число запросов, получивших чужой ответ, публикуется в метрике gateway.requests.collapsed, число выполняемых
+ * обращений к серверу — в gateway.requests.in.flight.
+ */
+public class SingleFlight {
+    private final SingleFlightProperties properties;
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+    private final LongSupplier changes;
+    private final Counter collapsed;
+
+    public SingleFlight(SingleFlightProperties properties, MeterRegistry registry) {
+        this(properties, registry, () -> 0);
+    }
+
+    /**
+     * @param changes счётчик изменений данных через шлюз; растёт после каждого изменения.
+     */
+    public SingleFlight(SingleFlightProperties properties, MeterRegistry registry, LongSupplier changes) {
+        this.properties = properties;
+        this.changes = changes;
+        this.collapsed = Counter.builder("gateway.requests.collapsed")
+                .description("GET-запросы, получившие ответ на одновременный одинаковый запрос")
+                .register(registry);
+        Gauge.builder("gateway.requests.in.flight", flights, ConcurrentMap::size)
+                .description("Выполняемые GET-запросы к серверу, к которым могут присоединиться одинаковые запросы")
+                .register(registry);
+    }
+
+    /**
+     * Метод execute выполняет запрос или присоединяется к уже выполняемому одинаковому запросу.
+     *
+     * @param uri         адрес запроса с параметрами.
+     * @param userId      идентификатор пользователя из заголовка X-Sharer-User-Id или null.
+     * @param ifNoneMatch заголовок If-None-Match входящего запроса или null.
+     * @param call        обращение к серверу.
+     */
+    public ResponseEntity<Object> execute(URI uri, Long userId, String ifNoneMatch,
+                                          Supplier<ResponseEntity<Object>> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        Key key = new Key(uri, userId, ifNoneMatch);
+        Flight flight = new Flight(changes.getAsLong());
+        Flight running = flights.putIfAbsent(key, flight);
+        if (running == null) {
+            return lead(key, flight, call);
+        }
+        if (running.changes < flight.changes) {
+            return flights.replace(key, running, flight) ? lead(key, flight, call) : call.get();
+        }
+        return join(running, call);
+    }
+
+    private ResponseEntity<Object> lead(Key key, Flight flight, Supplier<ResponseEntity<Object>> call) {
+        try {
+            ResponseEntity<Object> response = call.get();
+            flights.remove(key, flight);
+            if (flight.close() == 0) {
+                return response;
+            }
+            ResponseEntity<Object> buffered = ResponseBuffer.buffer(response, properties.getMaxBodySize().toBytes());
+            if (ResponseBuffer.isBuffered(buffered)) {
+                flight.result.complete(buffered);
+            }
+            return buffered;
+        } catch (RuntimeException e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+            flight.close();
+            flight.result.complete(null);
+        }
+    }
+
+    /**
+     * Количество запросов, ожидающих чужого ответа.
+     */
+    int waiting() {
+        return flights.values().stream().mapToInt(Flight::followers).sum();
+    }
+
+    private ResponseEntity<Object> join(Flight running, Supplier<ResponseEntity<Object>> call) {
+        if (!running.join()) {
+            return call.get();
+        }
+        ResponseEntity<Object> shared;
+        try {
+            shared = running.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (shared == null) {
+            return call.get();
+        }
+        collapsed.increment();
+        return shared;
+    }
+
+    private record Key(URI uri, Long userId, String ifNoneMatch) {
+    }
+
+    /**
+     * Выполняемый запрос. После close к нему нельзя присоединиться: его ответ уже отдан первому запросу потоком.
+     */
+    private static final class Flight {
+        private final CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        /**
+         * Значение счётчика изменений до начала обращения.
+         */
+        private final long changes;
+        private int followers;
+        private boolean closed;
+
+        Flight(long changes) {
+            this.changes = changes;
+        }
+
+        synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        synchronized int close() {
+            closed = true;
+            return followers;
+        }
+
+        synchronized int followers() {
+            return followers;
+        }
+    }
+}
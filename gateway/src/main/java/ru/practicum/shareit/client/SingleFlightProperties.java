@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Класс SingleFlightProperties содержит настройки объединения одинаковых GET-запросов к серверу
+ * (свойства shareit-gateway.single-flight.*).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.single-flight")
+public class SingleFlightProperties {
+    /**
+     * Включает объединение запросов.
+     */
+    private boolean enabled = true;
+    /**
+     * Ответ с телом больше этого размера не раздаётся ожидающим запросам: они обращаются к серверу сами.
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+}
@@ -32,6 +32,17 @@ public class ErrorHandler {
         return new ErrorMessage(e.getMessage());
     }
 
+    /**
+     * Обрабатывает исключение UnknownUserException, возвращая ответ с кодом 404 (Not Found).
+     * В ответе содержится сообщение об ошибке, полученное из исключения.
+     */
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorMessage handleUnknownUserException(final UnknownUserException e) {
+        log.debug("Получен статус 404 Not found {}", e.getMessage());
+        return new ErrorMessage(e.getMessage());
+    }
+
     /**
      * Обрабатывает исключение NotValidationException, возвращая ответ с кодом 400 (Bad Request).
      * В ответе содержится сообщение об ошибке, полученное из исключения.
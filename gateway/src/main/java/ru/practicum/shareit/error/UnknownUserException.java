@@ -0,0 +1,12 @@
+package ru.practicum.shareit.error;
+
+/**
+ * Класс представляет собой исключение, которое выбрасывается, если пользователя из заголовка X-Sharer-User-Id
+ * заведомо нет на сервере.
+ */
+public class UnknownUserException extends RuntimeException {
+
+    public UnknownUserException(String message) {
+        super(message);
+    }
+}
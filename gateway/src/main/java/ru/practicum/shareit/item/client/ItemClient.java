@@ -4,29 +4,39 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.cache.CacheRegion;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.SingleFlight;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  *  Класс представляет собой клиент для работы с вещами.
  */
 @Service
 public class ItemClient extends BaseClient {
+    private final ResponseCache responseCache;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, SingleFlight singleFlight,
+                      ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/items"))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                singleFlight
         );
+        this.responseCache = responseCache;
     }
 
     /**
@@ -35,17 +45,40 @@ public class ItemClient extends BaseClient {
      * @param userId идентификатор владельца вещи.
      */
     public ResponseEntity<Object> postItem(ItemDtoRequest itemDto, Long userId) {
-        return post("", userId, itemDto);
+        ResponseEntity<Object> response = post("", userId, itemDto);
+        if (itemDto.getRequestId() != null) {
+            responseCache.invalidate(CacheRegion.REQUESTS, itemDto.getRequestId());
+        }
+        return response;
     }
 
     /**
-     * Метод обновления информации об элементе по идентификатору
+     * Метод пакетной загрузки вещей.
+     * @param items список вещей;
+     * @param userId идентификатор владельца вещей.
+     */
+    public ResponseEntity<Object> importItems(List<ItemDtoRequest> items, long userId) {
+        ResponseEntity<Object> response = post("/batch", userId, items);
+        items.stream()
+                .map(ItemDtoRequest::getRequestId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(requestId -> responseCache.invalidate(CacheRegion.REQUESTS, requestId));
+        return response;
+    }
+
+    /**
+     * Метод обновления информации об элементе по идентификатору. Вещь может быть ответом на любой запрос, поэтому
+     * из кэша удаляются и все запросы.
      * @param userId идентификатор владельца вещи;
      * @param itemId идентификатор обновляемой вещи;
      * @param itemDto объект с данными для обновления вещи.
      */
     public ResponseEntity<Object> patchItem(Long userId, Long itemId, ItemDtoRequest itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+        ResponseEntity<Object> response = patch("/" + itemId, userId, itemDto);
+        responseCache.invalidate(CacheRegion.ITEMS, itemId);
+        responseCache.invalidateRegion(CacheRegion.REQUESTS);
+        return response;
     }
 
     /**
@@ -54,7 +87,7 @@ public class ItemClient extends BaseClient {
      * @param ownerId идентификатор владельца.
      */
     public ResponseEntity<Object> getItem(Long itemId, Long ownerId) {
-        return get("/" + itemId, ownerId);
+        return responseCache.get(CacheRegion.ITEMS, itemId, ownerId, () -> get("/" + itemId, ownerId));
     }
 
     /**
@@ -94,6 +127,8 @@ public class ItemClient extends BaseClient {
      * @param commentDto объект с данными комментария.
      */
     public ResponseEntity<Object> addComment(Long itemId, Long userId, CommentDtoRequest commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+        ResponseEntity<Object> response = post("/" + itemId + "/comment", userId, commentDto);
+        responseCache.invalidate(CacheRegion.ITEMS, itemId);
+        return response;
     }
 }
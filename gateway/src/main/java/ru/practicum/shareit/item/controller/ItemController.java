@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.controller;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -16,6 +17,7 @@ import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.validation.Create;
 
 import java.util.Collections;
+import java.util.List;
 
 @Controller("GatewayItemController")
 @RequestMapping(path = "/items")
@@ -38,10 +40,25 @@ public class ItemController {
     @PostMapping
     public ResponseEntity<Object> createItem(@RequestHeader(userHeader) Long userId,
                                              @RequestBody @Validated({Create.class}) ItemDtoRequest itemDto) {
-        log.info("POST запрос на создание вещи userId={}, itemDto={}", userId, itemDto);
+        log.debug("POST запрос на создание вещи userId={}, itemDto={}", userId, itemDto);
         return itemClient.postItem(itemDto, userId);
     }
 
+    /**
+     * Метод importItems передаёт на сервер список вещей пользователя для пакетной загрузки. Строки проверяются
+     * сервером, который возвращает сохранённые вещи и ошибки отклонённых строк.
+     *
+     * @param userId идентификатор пользователя, создающего вещи.
+     * @param items  вещи для сохранения.
+     * @return сохранённые вещи и ошибки отклонённых строк.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Object> importItems(@RequestHeader(userHeader) long userId,
+                                              @RequestBody @Size(max = 10_000) List<ItemDtoRequest> items) {
+        log.debug("POST запрос на загрузку {} вещей userId={}", items.size(), userId);
+        return itemClient.importItems(items, userId);
+    }
+
     /**
      * Метод addComment обрабатывает запросы на создание комментария к вещи.
      *
@@ -54,7 +71,7 @@ public class ItemController {
     public ResponseEntity<Object> addComment(@PathVariable("item-id") Long itemId,
                                              @RequestHeader(userHeader) Long userId,
                                              @Valid @RequestBody CommentDtoRequest commentDto) {
-        log.info("POST запрос на создание комментария userId={}, itemId={}, commentDto={}", userId, itemId, commentDto);
+        log.debug("POST запрос на создание комментария userId={}, itemId={}, commentDto={}", userId, itemId, commentDto);
         return itemClient.addComment(itemId, userId, commentDto);
     }
 
@@ -70,7 +87,7 @@ public class ItemController {
     public ResponseEntity<Object> updateItem(@RequestBody ItemDtoRequest itemDto,
                                              @RequestHeader(userHeader) Long userId,
                                              @PathVariable("item-id") long itemId) {
-        log.info("PATCH запрос на обновление вещи userId={}, itemId= {}, itemDto={}", userId, itemId, itemDto);
+        log.debug("PATCH запрос на обновление вещи userId={}, itemId= {}, itemDto={}", userId, itemId, itemDto);
         return itemClient.patchItem(userId, itemId, itemDto);
     }
 
@@ -84,7 +101,7 @@ public class ItemController {
     @GetMapping(path)
     public ResponseEntity<Object> getItemDto(@PathVariable("item-id") Long itemId,
                                              @RequestHeader(userHeader) Long ownerId) {
-        log.info("GET запрос на получение вещи itemId={}, ownerId={}", itemId, ownerId);
+        log.debug("GET запрос на получение вещи itemId={}, ownerId={}", itemId, ownerId);
         return itemClient.getItem(itemId, ownerId);
     }
 
@@ -98,7 +115,7 @@ public class ItemController {
     public ResponseEntity<Object> getOwnerItems(@RequestHeader(userHeader) Long userId,
                                                 @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                                 @Positive @RequestParam(defaultValue = "20") Integer size) {
-        log.info("GET запрос на получение всех вещей пользователя userId={}, from={}, size={}", userId, from, size);
+        log.debug("GET запрос на получение всех вещей пользователя userId={}, from={}, size={}", userId, from, size);
         return itemClient.getAllItemsUser(userId, from, size);
     }
 
@@ -114,7 +131,7 @@ public class ItemController {
                                                    @RequestParam String text,
                                                    @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                                    @Positive @RequestParam(defaultValue = "20") Integer size) {
-        log.info("Получил GET запрос на получение всех вещей с текстом:={}, from={}, size={}", text, from, size);
+        log.debug("Получил GET запрос на получение всех вещей с текстом:={}, from={}, size={}", text, from, size);
         if (text == null || text.isBlank()) {
             return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
         }
@@ -4,10 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.cache.CacheRegion;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.SingleFlight;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -18,15 +21,20 @@ import java.util.Map;
  */
 @Service
 public class ItemRequestClient extends BaseClient {
+    private final ResponseCache responseCache;
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory, SingleFlight singleFlight,
+                             ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/requests"))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                singleFlight
         );
+        this.responseCache = responseCache;
     }
 
     /**
@@ -44,7 +52,7 @@ public class ItemRequestClient extends BaseClient {
      * @param userId уникальный идентификатор пользователя, отправившего запрос.
      */
     public ResponseEntity<Object> getItemRequest(Long requestId, Long userId) {
-        return get("/" + requestId, userId);
+        return responseCache.get(CacheRegion.REQUESTS, requestId, userId, () -> get("/" + requestId, userId));
     }
 
     /**
@@ -32,7 +32,7 @@ public class RequestController {
     @PostMapping
     public ResponseEntity<Object> addItemRequest(@RequestHeader(userHeader) Long userId,
                                                  @Valid @RequestBody ItemRequestDto itemRequestDto) {
-        log.info("POST на добавление запроса userId={}, itemRequestDto={}", userId, itemRequestDto);
+        log.debug("POST на добавление запроса userId={}, itemRequestDto={}", userId, itemRequestDto);
         return itemRequestClient.addItemRequest(userId, itemRequestDto);
     }
 
@@ -44,7 +44,7 @@ public class RequestController {
     @GetMapping
     public ResponseEntity<Object> getItemRequestsByUserId(
             @RequestHeader(userHeader) Long userId) {
-        log.info("GET на запросы пользователя userId={}", userId);
+        log.debug("GET на запросы пользователя userId={}", userId);
         return itemRequestClient.getItemRequestsByUserId(userId);
     }
 
@@ -60,7 +60,7 @@ public class RequestController {
             @RequestHeader(userHeader) Long userId,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
             @Positive @RequestParam(defaultValue = "20") Integer size) {
-        log.info("GET на все запросы  userId={}, from={}, size={}", userId, from, size);
+        log.debug("GET на все запросы  userId={}, from={}, size={}", userId, from, size);
         return itemRequestClient.getAllItemRequests(userId, from, size);
     }
 
@@ -72,7 +72,7 @@ public class RequestController {
     @GetMapping("{request-id}")
     public ResponseEntity<Object> getItemRequest(@PathVariable("request-id") Long requestId,
                                                  @RequestHeader(userHeader) Long userId) {
-        log.info("GET userId={}, requestId={}", userId, requestId);
+        log.debug("GET userId={}, requestId={}", userId, requestId);
         return itemRequestClient.getItemRequest(requestId, userId);
     }
 }
@@ -4,10 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.cache.CacheRegion;
+import ru.practicum.shareit.cache.ResponseCache;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.SingleFlight;
 import ru.practicum.shareit.user.dto.UserDtoRequest;
 
 /**
@@ -15,15 +18,20 @@ import ru.practicum.shareit.user.dto.UserDtoRequest;
  */
 @Service
 public class UserClient extends BaseClient {
+    private final ResponseCache responseCache;
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, SingleFlight singleFlight,
+                      ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/users"))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                singleFlight
         );
+        this.responseCache = responseCache;
     }
 
     /**
@@ -40,15 +48,20 @@ public class UserClient extends BaseClient {
      * @param userId идентификатор обновляемого пользователя
      */
     public ResponseEntity<Object> patchUser(UserDtoRequest userDto, long userId) {
-        return patch("/" + userId, userDto);
+        ResponseEntity<Object> response = patch("/" + userId, userDto);
+        responseCache.invalidate(CacheRegion.USERS, userId);
+        return response;
     }
 
     /**
-     * Метод отправляет запрос на удаление данных пользователя с идентификатором userId.
+     * Метод отправляет запрос на удаление данных пользователя с идентификатором userId. Вместе с пользователем
+     * удаляются его вещи, бронирования и запросы, поэтому кэш ответов очищается полностью.
      * @param userId идентификатор пользователя.
      */
     public ResponseEntity<Object> delete(long userId) {
-        return delete("/" + userId);
+        ResponseEntity<Object> response = delete("/" + userId);
+        responseCache.invalidateAll();
+        return response;
     }
 
     /**
@@ -56,7 +69,7 @@ public class UserClient extends BaseClient {
      * @param userId идентификатор пользователя.
      */
     public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+        return responseCache.get(CacheRegion.USERS, userId, null, () -> get("/" + userId));
     }
 
     /**
@@ -65,4 +78,12 @@ public class UserClient extends BaseClient {
     public ResponseEntity<Object> getAllUsers() {
         return get("");
     }
+
+    /**
+     * Метод отправляет запрос на получение фильтра идентификаторов существующих пользователей.
+     * @param etag ETag полученного ранее фильтра или null; если фильтр не изменился, сервер отвечает 304.
+     */
+    public ResponseEntity<Object> getUserIdFilter(String etag) {
+        return getIfNoneMatch("/id-filter", etag);
+    }
 }
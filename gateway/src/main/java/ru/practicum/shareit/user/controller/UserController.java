@@ -30,7 +30,7 @@ public class UserController {
      */
     @PostMapping
     public ResponseEntity<Object> addUser(@RequestBody @Validated({Create.class}) UserDtoRequest userDto) {
-        log.info("POST запрос на создание пользователя {}", userDto);
+        log.debug("POST запрос на создание пользователя {}", userDto);
         return userClient.postUser(userDto);
     }
 
@@ -41,7 +41,7 @@ public class UserController {
      */
     @GetMapping(path)
     public ResponseEntity<Object> getUser(@PathVariable("user-id") Long userId) {
-        log.info("GET запрос на получение пользователя userId={}", userId);
+        log.debug("GET запрос на получение пользователя userId={}", userId);
         return userClient.getUser(userId);
     }
 
@@ -51,7 +51,7 @@ public class UserController {
      */
     @GetMapping
     public ResponseEntity<Object> getAll() {
-        log.info("GET запрос на получение всех пользователей");
+        log.debug("GET запрос на получение всех пользователей");
         return userClient.getAllUsers();
     }
 
@@ -63,7 +63,7 @@ public class UserController {
      */
     @PatchMapping(path)
     public ResponseEntity<Object> updateUser(@RequestBody UserDtoRequest userDto, @PathVariable("user-id") long userId) {
-        log.info("PATCH запрос на обновление пользователя userId={}, userDto={}", userId, userDto);
+        log.debug("PATCH запрос на обновление пользователя userId={}, userDto={}", userId, userDto);
         return userClient.patchUser(userDto, userId);
     }
 
@@ -74,7 +74,7 @@ public class UserController {
      */
     @DeleteMapping(path)
     public ResponseEntity<Object> deleteUser(@PathVariable("user-id") long userId) {
-        log.info("DELETE запрос на удаление пользователя userId={}", userId);
+        log.debug("DELETE запрос на удаление пользователя userId={}", userId);
         return userClient.delete(userId);
     }
 }
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.user.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.client.UserClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Класс KnownUserFilter хранит фильтр Блума идентификаторов существующих пользователей, опубликованный сервером
+ * (GET /users/id-filter), и обновляет его раз в shareit-gateway.user-filter.refresh-interval, передавая ETag
+ * полученного фильтра: если фильтр не изменился, сервер отвечает 304 без тела.
+ * Фильтр отвечает «нет» только для пользователей, которых на сервере заведомо нет, поэтому такие запросы шлюз может
+ * отклонить сам. Пользователи с идентификатором больше coveredUpTo созданы после построения фильтра и не проверяются.
+ * Пока фильтр не получен, сервер его не публикует или недоступен, проверка пропускает все запросы.
+ * Формат фильтра и схема хэширования должны совпадать с классами UserIdFilter и BloomFilter сервера.
+ * Число отклонённых запросов публикуется в метрике gateway.users.rejected.
+ */
+@Slf4j
+@Component
+public class KnownUserFilter {
+    static final int FORMAT_VERSION = 1;
+    static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private final UserClient userClient;
+    private final UserFilterProperties properties;
+    private final Counter rejected;
+    private volatile PublishedFilter filter;
+
+    public KnownUserFilter(UserClient userClient, UserFilterProperties properties, MeterRegistry registry) {
+        this.userClient = userClient;
+        this.properties = properties;
+        this.rejected = Counter.builder("gateway.users.rejected")
+                .description("Запросы от пользователей, которых заведомо нет на сервере")
+                .register(registry);
+    }
+
+    /**
+     * Метод refresh запрашивает у сервера фильтр, если он изменился. При ошибке остаётся прежний фильтр.
+     */
+    @Scheduled(fixedDelayString = "${shareit-gateway.user-filter.refresh-interval:PT5S}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        PublishedFilter current = filter;
+        ResponseEntity<Object> response;
+        try {
+            response = userClient.getUserIdFilter(current != null ? current.etag() : null);
+        } catch (RuntimeException e) {
+            log.debug("Не удалось получить фильтр пользователей: {}", e.getMessage());
+            return;
+        }
+        if (response == null || response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return;
+        }
+        try (InputStream body = bodyOf(response)) {
+            if (response.getStatusCode() == HttpStatus.NO_CONTENT) {
+                filter = null;
+            } else if (response.getStatusCode().is2xxSuccessful() && body != null) {
+                filter = PublishedFilter.read(response.getHeaders().getETag(), body);
+            } else {
+                log.debug("Сервер вернул фильтр пользователей со статусом {}", response.getStatusCode());
+            }
+        } catch (IOException e) {
+            log.warn("Не удалось прочитать фильтр пользователей: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Метод rejects проверяет, что пользователя с идентификатором userId заведомо нет на сервере.
+     */
+    public boolean rejects(long userId) {
+        PublishedFilter current = filter;
+        if (!properties.isEnabled() || current == null || userId > current.coveredUpTo()
+                || current.mightContain(userId)) {
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    private static InputStream bodyOf(ResponseEntity<Object> response) throws IOException {
+        if (response.getBody() instanceof Resource resource) {
+            return resource.getInputStream();
+        }
+        if (response.getBody() instanceof byte[] bytes) {
+            return new ByteArrayInputStream(bytes);
+        }
+        return null;
+    }
+
+    /**
+     * Фильтр в формате сервера: int версия формата, long coveredUpTo, int число хэш-функций, int число 64-битных
+     * слов, затем слова.
+     */
+    record PublishedFilter(String etag, long coveredUpTo, int hashes, long[] words) {
+
+        static PublishedFilter read(String etag, InputStream body) throws IOException {
+            DataInputStream in = new DataInputStream(body);
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("неизвестная версия формата " + version);
+            }
+            long coveredUpTo = in.readLong();
+            int hashes = in.readInt();
+            long[] words = new long[in.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            return new PublishedFilter(etag, coveredUpTo, hashes, words);
+        }
+
+        boolean mightContain(long id) {
+            long bits = words.length * 64L;
+            long h1 = mix(id);
+            long h2 = mix(id ^ SEED);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+                if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long mix(long value) {
+            value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+            value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return value ^ (value >>> 33);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.user.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.error.UnknownUserException;
+
+/**
+ * Класс UnknownUserInterceptor отклоняет запрос до обращения к серверу, если пользователя из заголовка
+ * X-Sharer-User-Id заведомо нет по фильтру {@link KnownUserFilter}. Некорректный заголовок проверяет контроллер.
+ */
+@RequiredArgsConstructor
+public class UnknownUserInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final KnownUserFilter knownUserFilter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(USER_HEADER);
+        if (header == null) {
+            return true;
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+        if (knownUserFilter.rejects(userId)) {
+            throw new UnknownUserException("Пользователь с id " + userId + " не найден");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.user.filter;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Класс UserFilterConfig включает периодическое обновление фильтра пользователей и проверку заголовка
+ * X-Sharer-User-Id по нему. Проверка выключается свойством shareit-gateway.user-filter.enabled=false.
+ * Фильтр внедряется лениво, чтобы настройка Spring MVC не создавала раньше времени клиент сервера и его зависимости.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(UserFilterProperties.class)
+public class UserFilterConfig implements WebMvcConfigurer {
+    private final KnownUserFilter knownUserFilter;
+
+    public UserFilterConfig(@Lazy KnownUserFilter knownUserFilter) {
+        this.knownUserFilter = knownUserFilter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new UnknownUserInterceptor(knownUserFilter));
+    }
+}
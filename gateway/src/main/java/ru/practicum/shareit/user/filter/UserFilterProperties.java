@@ -0,0 +1,25 @@
+package ru.practicum.shareit.user.filter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс UserFilterProperties содержит настройки проверки пользователей по фильтру сервера
+ * (свойства shareit-gateway.user-filter.*).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.user-filter")
+public class UserFilterProperties {
+    /**
+     * Включает отклонение запросов от заведомо несуществующих пользователей.
+     */
+    private boolean enabled = true;
+    /**
+     * Пауза между запросами фильтра у сервера.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+}
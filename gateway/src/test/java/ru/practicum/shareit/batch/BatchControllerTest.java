@@ -0,0 +1,183 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.batch.dto.BatchOperationRequest;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.user.client.UserClient;
+import ru.practicum.shareit.user.filter.KnownUserFilter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@AutoConfigureMockMvc
+@SpringBootTest(classes = ShareItGateway.class, properties = "shareit-gateway.batch.max-parallelism=2")
+public class BatchControllerTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    MockMvc mockMvc;
+    @MockBean
+    UserClient userClient;
+    @MockBean
+    ItemClient itemClient;
+    @MockBean
+    KnownUserFilter knownUserFilter;
+
+    @Test
+    void operationsAreAnsweredInOrderWithOwnStatusTest() throws Exception {
+        Mockito.when(userClient.getUser(1L)).thenReturn(json(HttpStatus.OK, "{\"id\":1,\"name\":\"Иван\"}"));
+        Mockito.when(itemClient.getItem(5L, 1L))
+                .thenReturn(json(HttpStatus.NOT_FOUND, "{\"error\":\"Вещь не найдена\"}"));
+        int standaloneDeleteStatus = mockMvc.perform(MockMvcRequestBuilders.delete("/items/5")
+                        .header("X-Sharer-User-Id", 1L))
+                .andReturn().getResponse().getStatus();
+
+        mockMvc.perform(batch(List.of(
+                        operation("user", "GET", "/users/1", null),
+                        operation("item", "GET", "/items/5", null),
+                        operation(null, "DELETE", "/items/5", null))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("user"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].body.name").value("Иван"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value("item"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value(404))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].body.error").value("Вещь не найдена"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].id").value("2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].status").value(standaloneDeleteStatus));
+    }
+
+    @Test
+    void invalidOperationIsRejectedWithoutFailingBatchTest() throws Exception {
+        ItemDtoRequest item = ItemDtoRequest.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .build();
+        ItemDtoRequest invalidItem = ItemDtoRequest.builder().name("").build();
+        Mockito.when(itemClient.postItem(ArgumentMatchers.any(), ArgumentMatchers.anyLong()))
+                .thenReturn(json(HttpStatus.OK, "{\"id\":1}"));
+
+        mockMvc.perform(batch(List.of(
+                        operation("valid", "POST", "/items", item),
+                        operation("invalid", "POST", "/items", invalidItem),
+                        operation("page", "GET", "/items?size=0", null))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].status").value(400));
+
+        Mockito.verify(itemClient, Mockito.times(1)).postItem(ArgumentMatchers.any(), ArgumentMatchers.anyLong());
+        Mockito.verify(itemClient, Mockito.never()).getAllItemsUser(ArgumentMatchers.anyLong(),
+                ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void tooManyOperationsAreRejectedTest() throws Exception {
+        List<BatchOperationRequest> operations = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            operations.add(operation(null, "GET", "/users/1", null));
+        }
+
+        mockMvc.perform(batch(operations))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verify(userClient, Mockito.never()).getUser(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void unknownUserIsRejectedInsideBatchTest() throws Exception {
+        Mockito.when(knownUserFilter.rejects(1L)).thenReturn(false, true);
+
+        mockMvc.perform(batch(List.of(operation(null, "GET", "/items/5", null))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value(404))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].body.error").value("Пользователь с id 1 не найден"));
+
+        Mockito.verify(itemClient, Mockito.never()).getItem(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void nestedBatchIsRejectedTest() throws Exception {
+        mockMvc.perform(batch(List.of(operation(null, "POST", "/batch",
+                        List.of(operation(null, "GET", "/users/1", null))))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value(400));
+
+        Mockito.verify(userClient, Mockito.never()).getUser(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void operationsOfAllBatchesRunInParallelUpToLimitTest() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Mockito.when(itemClient.getItem(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong()))
+                .thenAnswer(invocation -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(200);
+                    running.decrementAndGet();
+                    return json(HttpStatus.OK, "{}");
+                });
+        List<BatchOperationRequest> operations = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            operations.add(operation(null, "GET", "/items/" + i, null));
+        }
+
+        try (ExecutorService clients = Executors.newFixedThreadPool(2)) {
+            List<Future<?>> batches = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                batches.add(clients.submit(() -> mockMvc.perform(batch(operations))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andExpect(MockMvcResultMatchers.jsonPath("$[2].status").value(200))));
+            }
+            for (Future<?> future : batches) {
+                future.get();
+            }
+        }
+
+        Assertions.assertEquals(2, maxRunning.get());
+    }
+
+    private MockHttpServletRequestBuilder batch(List<BatchOperationRequest> operations) throws Exception {
+        return MockMvcRequestBuilders.post("/batch")
+                .header("X-Sharer-User-Id", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(operations))
+                .characterEncoding(StandardCharsets.UTF_8);
+    }
+
+    private BatchOperationRequest operation(String id, String method, String path, Object body) {
+        return new BatchOperationRequest(id, method, path, body != null ? objectMapper.valueToTree(body) : null);
+    }
+
+    private static ResponseEntity<Object> json(HttpStatus status, String body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new InputStreamResource(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.batch.operation;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public class BatchServletStreamsTest {
+
+    @Test
+    void readListenerIsRejectedAndBodyStaysReadableTest() throws Exception {
+        byte[] body = "{\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        BatchServletRequest request = new BatchServletRequest(new MockHttpServletRequest(), Locale.ROOT,
+                HttpMethod.POST, UriComponentsBuilder.fromPath("/items").build(), body);
+        ServletInputStream in = request.getInputStream();
+        ReadListener listener = Mockito.mock(ReadListener.class);
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                () -> in.setReadListener(listener));
+
+        Assertions.assertEquals("Неблокирующее чтение в операциях пакетного запроса не поддерживается",
+                exception.getMessage());
+        Mockito.verifyNoInteractions(listener);
+        Assertions.assertArrayEquals(body, in.readAllBytes());
+    }
+
+    @Test
+    void writeListenerIsRejectedAndBodyStaysWritableTest() throws Exception {
+        BatchServletResponse response = new BatchServletResponse();
+        ServletOutputStream out = response.getOutputStream();
+        WriteListener listener = Mockito.mock(WriteListener.class);
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                () -> out.setWriteListener(listener));
+
+        Assertions.assertEquals("Неблокирующая запись в операциях пакетного запроса не поддерживается",
+                exception.getMessage());
+        Mockito.verifyNoInteractions(listener);
+        out.write("ok".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals("ok", new String(response.getContentAsByteArray(), StandardCharsets.UTF_8));
+    }
+}
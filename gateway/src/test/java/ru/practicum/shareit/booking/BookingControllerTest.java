@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,11 +22,13 @@ import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -89,6 +92,24 @@ public class BookingControllerTest {
         Mockito.verify(bookingClient).getBooking(1, 1L);
     }
 
+    @SneakyThrows
+    @Test
+    void exportBookingsByOwnerTest() throws Exception {
+        String ndjson = "{\"id\":2}\n{\"id\":1}\n";
+        when(bookingClient.exportBookingsByOwner(1L)).thenReturn(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(new InputStreamResource(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))));
+
+        String content = mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        Assertions.assertEquals(ndjson, content);
+    }
+
     @SneakyThrows
     @Test
     void updatedBookingTest() throws Exception {
@@ -108,7 +129,7 @@ public class BookingControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
         Mockito.verify(bookingClient).getAllBookingByOwner(1L, BookingState.valueOf("ALL"),
-                0, 20);
+                null, 0, 20);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner?state={state}", "UNICE")
                         .header("X-Sharer-User-Id", 1))
@@ -120,7 +141,7 @@ public class BookingControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
         Mockito.verify(bookingClient).getAllBookingByOwner(1L,
-                BookingState.valueOf("WAITING"), 0, 20);
+                BookingState.valueOf("WAITING"), null, 0, 20);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner?from={from}&size={size}",
                                 -1, 0)
@@ -129,7 +150,7 @@ public class BookingControllerTest {
                 .andExpect(status().isBadRequest());
 
         Mockito.verify(bookingClient, Mockito.never()).getAllBookingByOwner(1L,
-                BookingState.valueOf("ALL"), -1, 0);
+                BookingState.valueOf("ALL"), null, -1, 0);
     }
 
     @SneakyThrows
@@ -140,21 +161,27 @@ public class BookingControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
         Mockito.verify(bookingClient).getAllBookingByUser(1, BookingState.valueOf("ALL"),
-                0, 20);
+                null, 0, 20);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/bookings?state={state}", "WAITING")
                         .header("X-Sharer-User-Id", 1))
                 .andDo(print())
                 .andExpect(status().isOk());
         Mockito.verify(bookingClient).getAllBookingByUser(1,
-                BookingState.valueOf("WAITING"), 0, 20);
+                BookingState.valueOf("WAITING"), null, 0, 20);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings?cursor={cursor}&size={size}", "abc", 5)
+                        .header("X-Sharer-User-Id", 1))
+                .andDo(print())
+                .andExpect(status().isOk());
+        Mockito.verify(bookingClient).getAllBookingByUser(1, BookingState.valueOf("ALL"), "abc", 0, 5);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/bookings?from={from}&size={size}", -1, 0)
                         .header("X-Sharer-User-Id", 1))
                 .andDo(print())
                 .andExpect(status().isBadRequest());
         Mockito.verify(bookingClient, Mockito.never()).getAllBookingByUser(1, BookingState.valueOf("ALL"),
-                -1, 0);
+                null, -1, 0);
     }
 
     BookingDtoRequest getBookingDtoRequest(LocalDateTime start, LocalDateTime end) {
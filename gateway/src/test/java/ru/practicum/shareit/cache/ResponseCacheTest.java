@@ -0,0 +1,142 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class ResponseCacheTest {
+    private static final byte[] BODY = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<ResponseEntity<Object>> loader = () -> {
+        loads.incrementAndGet();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag("W/\"1\"")
+                .body(new InputStreamResource(new ByteArrayInputStream(BODY)));
+    };
+    private ResponseCacheProperties properties;
+    private MeterRegistry registry;
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        registry = new SimpleMeterRegistry();
+        cache = new ResponseCache(properties, registry);
+    }
+
+    @Test
+    void repeatedReadIsServedFromCacheTest() {
+        cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+        ResponseEntity<Object> response = cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertArrayEquals(BODY, (byte[]) response.getBody());
+        Assertions.assertEquals("W/\"1\"", response.getHeaders().getETag());
+        Assertions.assertEquals(BODY.length, response.getHeaders().getContentLength());
+        Assertions.assertEquals(1, registry.get("cache.gets").tag("cache", ResponseCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void responsesAreScopedByUserTest() {
+        cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+        cache.get(CacheRegion.ITEMS, 1L, 20L, loader);
+        cache.get(CacheRegion.REQUESTS, 1L, 10L, loader);
+
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidateRemovesResourceForAllUsersTest() {
+        cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+        cache.get(CacheRegion.ITEMS, 1L, 20L, loader);
+        cache.get(CacheRegion.ITEMS, 2L, 10L, loader);
+
+        cache.invalidate(CacheRegion.ITEMS, 1L);
+        cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+        cache.get(CacheRegion.ITEMS, 1L, 20L, loader);
+        cache.get(CacheRegion.ITEMS, 2L, 10L, loader);
+
+        Assertions.assertEquals(5, loads.get());
+    }
+
+    @Test
+    void invalidateUserRemovesOnlyHisResponsesTest() {
+        cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+        cache.get(CacheRegion.ITEMS, 1L, 20L, loader);
+
+        cache.invalidateUser(CacheRegion.ITEMS, 10L);
+        cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+        cache.get(CacheRegion.ITEMS, 1L, 20L, loader);
+
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    void responseLoadedDuringInvalidationIsNotCachedTest() {
+        cache.get(CacheRegion.USERS, 1L, null, () -> {
+            ResponseEntity<Object> response = loader.get();
+            cache.invalidate(CacheRegion.USERS, 1L);
+            return response;
+        });
+        cache.get(CacheRegion.USERS, 1L, null, loader);
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void errorResponseIsNotCachedTest() {
+        Supplier<ResponseEntity<Object>> notFound = () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new InputStreamResource(new ByteArrayInputStream(BODY)));
+        };
+
+        cache.get(CacheRegion.ITEMS, 1L, 10L, notFound);
+        ResponseEntity<Object> response = cache.get(CacheRegion.ITEMS, 1L, 10L, notFound);
+
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void largeResponseIsPassedThroughWithoutCachingTest() throws IOException {
+        properties.setMaxEntrySize(DataSize.ofBytes(8));
+        cache = new ResponseCache(properties, new SimpleMeterRegistry());
+
+        ResponseEntity<Object> response = cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+        cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+
+        Assertions.assertEquals(2, loads.get());
+        try (InputStream in = ((Resource) response.getBody()).getInputStream()) {
+            Assertions.assertArrayEquals(BODY, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void disabledCacheAlwaysCallsServerTest() {
+        properties.setEnabled(false);
+
+        cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+        cache.get(CacheRegion.ITEMS, 1L, 10L, loader);
+
+        Assertions.assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,289 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BaseClientTest {
+    private static final int LARGE_ITEMS = 20_000;
+    private static final String ETAG = "W/\"1\"";
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private final AtomicReference<String> receivedUserId = new AtomicReference<>();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate rest;
+    private TestClient client;
+    private byte[] largeBody;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < LARGE_ITEMS; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i)
+                    .append(",\"name\":\"Дрель ").append(i).append("\",\"description\":\"Простая дрель\",")
+                    .append("\"available\":true}");
+        }
+        largeBody = json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.getResponseHeaders().set("ETag", ETAG);
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            if ("slow=true".equals(exchange.getRequestURI().getQuery())) {
+                slowCalls.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+                return;
+            }
+            receivedUserId.set(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            String query = exchange.getRequestURI().getQuery();
+            byte[] body = "large=true".equals(query) ? largeBody
+                    : "{\"error\":\"Вещь не найдена\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("X-Next-Cursor", "abc");
+            exchange.sendResponseHeaders("large=true".equals(query) ? 200 : 404, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        HttpClientConfig config = new HttpClientConfig();
+        ShareItServerPoolProperties properties = new ShareItServerPoolProperties();
+        connectionManager = config.shareItServerConnectionManager(properties);
+        httpClient = config.shareItServerHttpClient(connectionManager, properties);
+        rest = new RestTemplate(config.shareItServerRequestFactory(httpClient));
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:"
+                + server.getAddress().getPort() + "/items"));
+        client = new TestClient(rest);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        release.countDown();
+        httpClient.close();
+        connectionManager.close();
+        server.stop(0);
+    }
+
+    @Test
+    void responseIsPassedThroughAsRawBytesTest() throws IOException {
+        ResponseEntity<Object> response = client.get("?large={large}", 1L, Map.of("large", true));
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        Assertions.assertEquals(largeBody.length, response.getHeaders().getContentLength());
+        Assertions.assertInstanceOf(Resource.class, response.getBody());
+        try (InputStream in = ((Resource) response.getBody()).getInputStream()) {
+            Assertions.assertArrayEquals(largeBody, in.readAllBytes());
+        }
+        Assertions.assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    void errorStatusAndBodyArePassedThroughTest() throws IOException {
+        ResponseEntity<Object> response = client.post("", 7L, Map.of("name", "Дрель"));
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        try (InputStream in = ((Resource) response.getBody()).getInputStream()) {
+            Assertions.assertEquals("{\"error\":\"Вещь не найдена\"}", new String(in.readAllBytes(),
+                    StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals("7", receivedUserId.get());
+        Assertions.assertEquals("{\"name\":\"Дрель\"}", receivedBody.get());
+    }
+
+    @Test
+    void ifNoneMatchIsForwardedAndNotModifiedIsPassedThroughTest() {
+        MockHttpServletRequest incoming = new MockHttpServletRequest("GET", "/items");
+        incoming.addHeader("If-None-Match", ETAG);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        try {
+            ResponseEntity<Object> response = client.get("?large={large}", 1L, Map.of("large", true));
+
+            Assertions.assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+            Assertions.assertEquals(ETAG, response.getHeaders().getETag());
+            Assertions.assertNull(response.getBody());
+            Assertions.assertEquals(0, connectionManager.getTotalStats().getLeased());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void identicalConcurrentGetsAreCollapsedTest() throws Exception {
+        int callers = 50;
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight singleFlight = new SingleFlight(new SingleFlightProperties(), registry);
+        TestClient collapsing = new TestClient(rest, singleFlight);
+        List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                responses.add(executor.submit(() -> collapsing.get("?slow={slow}", 1L, Map.of("slow", true))));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((slowCalls.get() < 1 || singleFlight.waiting() < callers - 1) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<ResponseEntity<Object>> response : responses) {
+                Assertions.assertEquals(HttpStatus.OK, response.get().getStatusCode());
+                Assertions.assertEquals("{\"id\":1}",
+                        new String((byte[]) response.get().getBody(), StandardCharsets.UTF_8));
+            }
+        }
+
+        Assertions.assertEquals(1, slowCalls.get());
+        Assertions.assertEquals(callers - 1, registry.get("gateway.requests.collapsed").counter().count());
+        Assertions.assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    void getAfterChangeDoesNotJoinEarlierFlightTest() throws Exception {
+        AtomicLong changes = new AtomicLong();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight singleFlight = new SingleFlight(new SingleFlightProperties(), registry, changes::get);
+        TestClient collapsing = new TestClient(rest, singleFlight);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ResponseEntity<Object>> before = executor.submit(
+                    () -> collapsing.get("?slow={slow}", 1L, Map.of("slow", true)));
+            awaitSlowCalls(1);
+            changes.incrementAndGet();
+            Future<ResponseEntity<Object>> after = executor.submit(
+                    () -> collapsing.get("?slow={slow}", 1L, Map.of("slow", true)));
+            awaitSlowCalls(2);
+            release.countDown();
+
+            Assertions.assertEquals(HttpStatus.OK, before.get().getStatusCode());
+            Assertions.assertEquals(HttpStatus.OK, after.get().getStatusCode());
+        }
+
+        Assertions.assertEquals(2, slowCalls.get());
+        Assertions.assertEquals(0, registry.get("gateway.requests.collapsed").counter().count());
+    }
+
+    private void awaitSlowCalls(int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (slowCalls.get() < calls && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void passthroughAllocatesLessThanMaterializingResponseTest() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            materialize();
+            passthrough();
+        }
+
+        long materialized = allocatedBytes(this::materialize);
+        long streamed = allocatedBytes(this::passthrough);
+
+        Assertions.assertTrue(streamed * 4 < materialized,
+                "Передача потоком: " + streamed + " байт, разбор ответа: " + materialized + " байт");
+    }
+
+    /**
+     * Прежняя схема: ответ разбирается в дерево объектов и снова сериализуется в ответ шлюза.
+     */
+    private void materialize() throws IOException {
+        ResponseEntity<Object> response = rest.exchange("?large={large}", HttpMethod.GET, HttpEntity.EMPTY,
+                Object.class, Map.of("large", true));
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response.getBody());
+    }
+
+    private void passthrough() throws IOException {
+        ResponseEntity<Object> response = client.get("?large={large}", 1L, Map.of("large", true));
+        try (InputStream in = ((Resource) response.getBody()).getInputStream()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private long allocatedBytes(IoAction action) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        TestClient(RestTemplate rest, SingleFlight singleFlight) {
+            super(rest, singleFlight);
+        }
+
+        @Override
+        public ResponseEntity<Object> get(String path, Long userId, Map<String, Object> parameters) {
+            return super.get(path, userId, parameters);
+        }
+
+        @Override
+        public <T> ResponseEntity<Object> post(String path, long userId, T body) {
+            return super.post(path, userId, body);
+        }
+    }
+}
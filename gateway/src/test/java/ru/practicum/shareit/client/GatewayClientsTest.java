@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.request.client.ItemRequestClient;
+import ru.practicum.shareit.user.client.UserClient;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = ShareItGateway.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class GatewayClientsTest {
+
+    @Autowired
+    ClientHttpRequestFactory requestFactory;
+    @Autowired
+    ItemClient itemClient;
+    @Autowired
+    BookingClient bookingClient;
+    @Autowired
+    ItemRequestClient itemRequestClient;
+    @Autowired
+    TestRestTemplate restTemplate;
+    @MockBean
+    UserClient userClient;
+
+    @Test
+    void clientsShareOneRequestFactoryTest() {
+        Assertions.assertSame(requestFactory, itemClient.rest.getRequestFactory());
+        Assertions.assertSame(requestFactory, bookingClient.rest.getRequestFactory());
+        Assertions.assertSame(requestFactory, itemRequestClient.rest.getRequestFactory());
+    }
+
+    @Test
+    void requestsAreHandledOnVirtualThreadsTest() {
+        AtomicBoolean virtual = new AtomicBoolean();
+        when(userClient.getUser(1L)).thenAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return ResponseEntity.ok("{}");
+        });
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/users/1", String.class);
+
+        Assertions.assertTrue(response.getStatusCode().is2xxSuccessful());
+        Assertions.assertTrue(virtual.get());
+    }
+
+    @Test
+    void streamedServerResponseIsWrittenAsIsTest() {
+        byte[] body = "{\"id\":2,\"name\":\"Иван\"}".getBytes(StandardCharsets.UTF_8);
+        when(userClient.getUser(2L)).thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Next-Cursor", "abc")
+                .body(new InputStreamResource(new ByteArrayInputStream(body))));
+
+        ResponseEntity<byte[]> response = restTemplate.getForEntity("/users/2", byte[].class);
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        Assertions.assertArrayEquals(body, response.getBody());
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class HttpClientConfigTest {
+    private final HttpClientConfig config = new HttpClientConfig();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate rest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        ShareItServerPoolProperties properties = new ShareItServerPoolProperties();
+        properties.setMaxConnections(7);
+        properties.setMaxConnectionsPerRoute(3);
+        connectionManager = config.shareItServerConnectionManager(properties);
+        httpClient = config.shareItServerHttpClient(connectionManager, properties);
+        rest = new RestTemplate(config.shareItServerRequestFactory(httpClient));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+        server.stop(0);
+    }
+
+    @Test
+    void sequentialRequestsReuseKeepAliveConnectionTest() {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/users";
+        for (int i = 0; i < 10; i++) {
+            ResponseEntity<String> response = rest.getForEntity(url, String.class);
+            Assertions.assertEquals("{\"id\":1}", response.getBody());
+        }
+
+        Assertions.assertEquals(1, clientPorts.size());
+        Assertions.assertEquals(1, connectionManager.getTotalStats().getAvailable());
+        Assertions.assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    void poolLimitsArePublishedAsMetricsTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        config.shareItServerPoolMetrics(connectionManager).bindTo(registry);
+
+        Assertions.assertEquals(7, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", HttpClientConfig.POOL_NAME).gauge().value());
+        Assertions.assertEquals(3, registry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", HttpClientConfig.POOL_NAME).gauge().value());
+    }
+}
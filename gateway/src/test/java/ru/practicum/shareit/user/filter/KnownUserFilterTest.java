@@ -0,0 +1,102 @@
+package ru.practicum.shareit.user.filter;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.user.client.UserClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+@AutoConfigureMockMvc
+@SpringBootTest(classes = ShareItGateway.class)
+public class KnownUserFilterTest {
+    private static final String ETAG = "\"epoch-1\"";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    KnownUserFilter knownUserFilter;
+    @MockBean
+    UserClient userClient;
+    @MockBean
+    ItemClient itemClient;
+
+    @Test
+    void unknownUserIsRejectedWithoutServerCallTest() throws Exception {
+        publish(2, 0L);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/{itemId}", 1L)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error").value("Пользователь с id 1 не найден"));
+
+        Mockito.verify(itemClient, Mockito.never()).getItem(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void userCreatedAfterFilterIsPassedToServerTest() throws Exception {
+        publish(2, 0L);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/{itemId}", 1L)
+                        .header("X-Sharer-User-Id", 3L))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Mockito.verify(itemClient).getItem(1L, 3L);
+    }
+
+    @Test
+    void possiblyExistingUserIsPassedToServerTest() throws Exception {
+        publish(2, -1L);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/{itemId}", 1L)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Mockito.verify(itemClient).getItem(1L, 1L);
+    }
+
+    @Test
+    void notModifiedFilterIsKeptTest() throws Exception {
+        publish(2, 0L);
+        Mockito.when(userClient.getUserIdFilter(ETAG))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        knownUserFilter.refresh();
+
+        Mockito.verify(userClient, Mockito.atLeastOnce()).getUserIdFilter(ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/{itemId}", 1L)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    /**
+     * Публикует фильтр из одного слова с одной хэш-функцией: пустое слово отвечает «нет» для всех идентификаторов,
+     * заполненное — «возможно» для всех.
+     */
+    private void publish(long coveredUpTo, long word) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(KnownUserFilter.FORMAT_VERSION);
+            out.writeLong(coveredUpTo);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeLong(word);
+        }
+        Mockito.when(userClient.getUserIdFilter(ArgumentMatchers.any()))
+                .thenReturn(ResponseEntity.ok().eTag(ETAG).body(bytes.toByteArray()));
+        knownUserFilter.refresh();
+    }
+}
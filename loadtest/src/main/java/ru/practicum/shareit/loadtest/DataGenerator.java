@@ -0,0 +1,139 @@
+package ru.practicum.shareit.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+/**
+ * Класс DataGenerator заполняет базу, схему которой уже создал сервер, пользователями, вещами и бронированиями.
+ * Строки загружаются командой COPY, после чего последовательности идентификаторов сдвигаются за загруженные
+ * значения, а статистика таблиц обновляется. Данные зависят только от начального значения генератора.
+ */
+final class DataGenerator {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "WAITING", "REJECTED"};
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    DataGenerator(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    void generate(DataSet dataSet, long seed) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            long started = System.nanoTime();
+            copyUsers(connection, dataSet);
+            copyItems(connection, dataSet, new SplittableRandom(seed));
+            copyBookings(connection, dataSet, new SplittableRandom(seed + 1));
+            try (Statement statement = connection.createStatement()) {
+                for (String table : new String[]{"users", "items", "bookings"}) {
+                    statement.execute("SELECT setval('" + table + "_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM "
+                            + table + "), false)");
+                }
+                statement.execute("ANALYZE");
+            }
+            System.out.printf("Загружено пользователей: %d, вещей: %d, бронирований: %d за %d с%n",
+                    dataSet.users(), dataSet.items(), dataSet.bookings(),
+                    (System.nanoTime() - started) / 1_000_000_000L);
+        }
+    }
+
+    private void copyUsers(Connection connection, DataSet dataSet) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(connection, "COPY users (id, name, email) FROM STDIN (FORMAT csv)")) {
+            for (long id = 1; id <= dataSet.users(); id++) {
+                writer.row(id, "user" + id, "user" + id + "@load.test");
+            }
+        }
+    }
+
+    private void copyItems(Connection connection, DataSet dataSet, SplittableRandom random) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(connection,
+                "COPY items (id, name, description, available, owner_id) FROM STDIN (FORMAT csv)")) {
+            for (long id = 1; id <= dataSet.items(); id++) {
+                String word = dataSet.randomWord(random);
+                String adjective = DataSet.ADJECTIVES.get(random.nextInt(DataSet.ADJECTIVES.size()));
+                writer.row(id, word + " " + id, adjective + " " + word + ", " + dataSet.randomWord(random),
+                        dataSet.isAvailable(id), dataSet.ownerOf(id));
+            }
+        }
+    }
+
+    /**
+     * Бронирования распределены по году до и году после момента загрузки, чтобы у вещей были и последние, и
+     * следующие бронирования. Новые бронирования нагрузки создаются позже этого интервала и с ними не пересекаются.
+     */
+    private void copyBookings(Connection connection, DataSet dataSet, SplittableRandom random) throws SQLException {
+        LocalDateTime from = LocalDateTime.now().minusYears(1);
+        int hours = 2 * 365 * 24;
+        try (CopyWriter writer = new CopyWriter(connection,
+                "COPY bookings (id, start_date, end_date, item_id, booker_id, status) FROM STDIN (FORMAT csv)")) {
+            for (long id = 1; id <= dataSet.bookings(); id++) {
+                LocalDateTime start = from.plusHours(random.nextInt(hours));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+                writer.row(id, TIMESTAMP.format(start), TIMESTAMP.format(end), dataSet.randomItem(random),
+                        dataSet.randomBooker(random), STATUSES[random.nextInt(STATUSES.length)]);
+            }
+        }
+    }
+
+    /**
+     * Буферизованная запись строк CSV в команду COPY. Сгенерированные строки не содержат кавычек, поэтому
+     * заключаются в кавычки без экранирования.
+     */
+    private static final class CopyWriter implements AutoCloseable {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+
+        CopyWriter(Connection connection, String sql) throws SQLException {
+            this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                if (values[i] instanceof String text) {
+                    buffer.append('"').append(text).append('"');
+                } else {
+                    buffer.append(values[i]);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Раскладка сгенерированных данных, по которой нагрузка выбирает существующих пользователей и вещи, не читая их из
+ * базы. Первая половина пользователей — владельцы вещей, вторая — арендаторы. Вещь с идентификатором id
+ * принадлежит владельцу (id - 1) % owners + 1; каждая десятая вещь недоступна для бронирования.
+ *
+ * @param users    число пользователей.
+ * @param items    число вещей.
+ * @param bookings число бронирований.
+ */
+record DataSet(int users, int items, int bookings) {
+    /**
+     * Слова, из которых составляются названия и описания вещей и поисковые запросы.
+     */
+    static final List<String> WORDS = List.of("дрель", "пила", "молоток", "лестница", "палатка", "велосипед",
+            "самокат", "шуруповерт", "перфоратор", "фотоаппарат", "проектор", "гитара", "сапборд", "лыжи",
+            "коньки", "рюкзак", "генератор", "мойка", "газонокосилка", "кофемашина");
+    static final List<String> ADJECTIVES = List.of("аккумуляторная", "новая", "профессиональная", "компактная",
+            "лёгкая", "мощная", "детская", "складная");
+
+    DataSet {
+        if (users < 2 || items < 1 || bookings < 0) {
+            throw new IllegalArgumentException("Нужно хотя бы два пользователя и одна вещь");
+        }
+    }
+
+    int owners() {
+        return users / 2;
+    }
+
+    long ownerOf(long itemId) {
+        return (itemId - 1) % owners() + 1;
+    }
+
+    boolean isAvailable(long itemId) {
+        return itemId % 10 != 0;
+    }
+
+    long randomOwner(RandomGenerator random) {
+        return random.nextLong(owners()) + 1;
+    }
+
+    long randomBooker(RandomGenerator random) {
+        return owners() + random.nextLong(users - owners()) + 1;
+    }
+
+    long randomItem(RandomGenerator random) {
+        return random.nextLong(items) + 1;
+    }
+
+    long randomAvailableItem(RandomGenerator random) {
+        long itemId = randomItem(random);
+        return isAvailable(itemId) ? itemId : itemId - 1 == 0 ? 1 : itemId - 1;
+    }
+
+    String randomWord(RandomGenerator random) {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Класс LoadDriver создаёт нагрузку на шлюз с заданным числом клиентов в замкнутом цикле: каждый клиент на
+ * виртуальном потоке выполняет следующий запрос сразу после ответа на предыдущий. Задержки каждой операции
+ * записываются в HdrHistogram, ответы с кодом не 2xx и ошибки соединения считаются отдельно.
+ */
+final class LoadDriver {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final DataSet dataSet;
+    private final HttpClient client;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    /**
+     * Счётчик часов для новых бронирований: каждое начинается позже предыдущего, поэтому бронирования нагрузки не
+     * пересекаются между собой и с загруженными данными.
+     */
+    private final AtomicLong bookingHour = new AtomicLong();
+    private final LocalDateTime bookingsFrom = LocalDateTime.now().plusYears(2).withNano(0);
+
+    LoadDriver(LoadTestConfig config, DataSet dataSet) {
+        this.config = config;
+        this.dataSet = dataSet;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Выполняет прогрев, затем замер и возвращает результаты замера.
+     */
+    LoadReport run() throws InterruptedException {
+        System.out.printf("Прогрев %s, клиентов: %d, нагрузка: %s%n", config.warmup(), config.concurrency(),
+                config.mix());
+        drive(config.warmup(), config.seed());
+        Map<Operation, Histogram> discarded = intervalHistograms();
+        errors.values().forEach(LongAdder::reset);
+        System.out.printf("Прогрев завершён, запросов: %d. Замер %s%n",
+                discarded.values().stream().mapToLong(Histogram::getTotalCount).sum(), config.duration());
+        long started = System.nanoTime();
+        drive(config.duration(), config.seed() + config.concurrency());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        errors.forEach((operation, count) -> errorCounts.put(operation, count.sum()));
+        return new LoadReport(intervalHistograms(), errorCounts, elapsed);
+    }
+
+    private void drive(Duration duration, long seed) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> clients = new ArrayList<>(config.concurrency());
+            for (int i = 0; i < config.concurrency(); i++) {
+                SplittableRandom random = new SplittableRandom(seed + i);
+                clients.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(config.mix().next(random), random);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : clients) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Клиент нагрузки завершился с ошибкой", e.getCause());
+                }
+            }
+        }
+    }
+
+    private void execute(Operation operation, SplittableRandom random) throws InterruptedException {
+        HttpRequest request = request(operation, random);
+        long started = System.nanoTime();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status < 200 || status >= 300) {
+                errors.get(operation).increment();
+            }
+        } catch (IOException e) {
+            errors.get(operation).increment();
+        }
+        long micros = (System.nanoTime() - started) / 1000;
+        recorders.get(operation).recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random) {
+        return switch (operation) {
+            case SEARCH -> get("/items/search?text=" + URLEncoder.encode(dataSet.randomWord(random),
+                    StandardCharsets.UTF_8), dataSet.randomBooker(random));
+            case OWNER_BOOKINGS -> get("/bookings/owner?state=ALL", dataSet.randomOwner(random));
+            case OWNER_ITEMS -> get("/items", dataSet.randomOwner(random));
+            case CREATE_BOOKING -> {
+                LocalDateTime start = bookingsFrom.plusHours(bookingHour.getAndIncrement());
+                String body = "{\"itemId\":" + dataSet.randomAvailableItem(random)
+                        + ",\"start\":\"" + start + "\",\"end\":\"" + start.plusMinutes(30) + "\"}";
+                yield builder("/bookings", dataSet.randomBooker(random))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+        };
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return builder(path, userId).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(config.gatewayUrl() + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header(USER_HEADER, Long.toString(userId));
+    }
+
+    private Map<Operation, Histogram> intervalHistograms() {
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Параметры нагрузочного теста. Все значения читаются из системных свойств с префиксом loadtest, например
+ * -Dloadtest.users=100000.
+ *
+ * @param dbUrl           адрес внешней базы PostgreSQL; если не задан, запускается встроенная база.
+ * @param dbUser          пользователь внешней базы.
+ * @param dbPassword      пароль внешней базы.
+ * @param serverJar       исполняемый jar сервера.
+ * @param gatewayJar      исполняемый jar шлюза.
+ * @param serverPort      порт сервера.
+ * @param gatewayPort     порт шлюза.
+ * @param users           число создаваемых пользователей.
+ * @param items           число создаваемых вещей.
+ * @param bookings        число создаваемых бронирований.
+ * @param seed            начальное значение генератора случайных чисел для данных и нагрузки.
+ * @param concurrency     число одновременных клиентов.
+ * @param warmup          длительность прогрева, результаты которого не учитываются.
+ * @param duration        длительность замера.
+ * @param mix             доли операций в нагрузке.
+ * @param reportDirectory каталог для файлов с распределениями задержек.
+ */
+record LoadTestConfig(String dbUrl,
+                      String dbUser,
+                      String dbPassword,
+                      Path serverJar,
+                      Path gatewayJar,
+                      int serverPort,
+                      int gatewayPort,
+                      int users,
+                      int items,
+                      int bookings,
+                      long seed,
+                      int concurrency,
+                      Duration warmup,
+                      Duration duration,
+                      OperationMix mix,
+                      Path reportDirectory) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.db.url"),
+                System.getProperty("loadtest.db.user", "postgres"),
+                System.getProperty("loadtest.db.password", "root"),
+                Path.of(System.getProperty("loadtest.server.jar",
+                        "server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar")),
+                Path.of(System.getProperty("loadtest.gateway.jar",
+                        "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar")),
+                Integer.getInteger("loadtest.server.port", 9090),
+                Integer.getInteger("loadtest.gateway.port", 8080),
+                Integer.getInteger("loadtest.users", 1_000_000),
+                Integer.getInteger("loadtest.items", 2_000_000),
+                Integer.getInteger("loadtest.bookings", 5_000_000),
+                Long.getLong("loadtest.seed", 42L),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT30S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT2M")),
+                OperationMix.parse(System.getProperty("loadtest.mix",
+                        "search=50,createBooking=10,ownerBookings=25,ownerItems=15")),
+                Path.of(System.getProperty("loadtest.report.dir", "loadtest/target/report")));
+    }
+
+    String serverUrl() {
+        return "http://localhost:" + serverPort;
+    }
+
+    String gatewayUrl() {
+        return "http://localhost:" + gatewayPort;
+    }
+}
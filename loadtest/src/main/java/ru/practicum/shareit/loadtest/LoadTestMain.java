@@ -0,0 +1,73 @@
+package ru.practicum.shareit.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Точка входа нагрузочного теста. Запускает базу PostgreSQL (встроенную, если не указана внешняя), сервер, который
+ * создаёт схему миграциями Flyway, загружает сгенерированные данные, запускает шлюз и подаёт нагрузку через шлюз.
+ * Отчёт печатается в стандартный вывод, распределения задержек сохраняются в каталог loadtest.report.dir.
+ */
+public final class LoadTestMain {
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        DataSet dataSet = new DataSet(config.users(), config.items(), config.bookings());
+        EmbeddedPostgres embedded = null;
+        try {
+            String dbUrl = config.dbUrl();
+            String dbUser = config.dbUser();
+            String dbPassword = config.dbPassword();
+            if (dbUrl == null) {
+                embedded = EmbeddedPostgres.builder().start();
+                dbUrl = embedded.getJdbcUrl("postgres", "postgres");
+                dbPassword = "";
+                dbUser = "postgres";
+                System.out.println("Запущена встроенная база: " + dbUrl);
+            }
+            List<String> serverProperties = new ArrayList<>(List.of(
+                    "-Dserver.port=" + config.serverPort(),
+                    "-Dspring.datasource.url=" + dbUrl,
+                    "-Dspring.datasource.username=" + dbUser,
+                    "-Dspring.datasource.password=" + dbPassword,
+                    "-Dlogging.level.root=WARN",
+                    "-Dlogging.level.org.hibernate.SQL=WARN",
+                    "-Dlogging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+            serverProperties.addAll(jvmOptions("loadtest.server.opts"));
+            try (ServiceProcess server = ServiceProcess.start("server", config.serverJar(), serverProperties,
+                    config.serverUrl(), config.reportDirectory())) {
+                new DataGenerator(dbUrl, dbUser, dbPassword).generate(dataSet, config.seed());
+                List<String> gatewayProperties = new ArrayList<>(List.of(
+                        "-Dserver.port=" + config.gatewayPort(),
+                        "-Dshareit-server.url=" + config.serverUrl(),
+                        "-Dlogging.level.root=WARN",
+                        "-Dlogging.level.org.springframework.web.client.RestTemplate=WARN"));
+                gatewayProperties.addAll(jvmOptions("loadtest.gateway.opts"));
+                try (ServiceProcess gateway = ServiceProcess.start("gateway", config.gatewayJar(),
+                        gatewayProperties, config.gatewayUrl(), config.reportDirectory())) {
+                    LoadReport report = new LoadDriver(config, dataSet).run();
+                    report.print(System.out);
+                    report.write(config.reportDirectory());
+                    System.out.println("Распределения задержек сохранены в " + config.reportDirectory());
+                }
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    /**
+     * Дополнительные параметры JVM процесса, разделённые пробелами, например -Dloadtest.server.opts="-Xmx2g".
+     */
+    private static List<String> jvmOptions(String property) {
+        String value = System.getProperty(property, "").trim();
+        return value.isEmpty() ? List.of() : Arrays.asList(value.split("\\s+"));
+    }
+}
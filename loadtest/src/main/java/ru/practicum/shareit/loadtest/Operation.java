@@ -0,0 +1,42 @@
+package ru.practicum.shareit.loadtest;
+
+/**
+ * Операции, из которых складывается нагрузка. Имена совпадают с ключами параметра loadtest.mix.
+ */
+enum Operation {
+    /**
+     * Поиск вещей по слову из названия или описания.
+     */
+    SEARCH("search"),
+    /**
+     * Создание бронирования доступной вещи другого пользователя.
+     */
+    CREATE_BOOKING("createBooking"),
+    /**
+     * Первая страница бронирований владельца.
+     */
+    OWNER_BOOKINGS("ownerBookings"),
+    /**
+     * Первая страница вещей владельца с последним и следующим бронированием.
+     */
+    OWNER_ITEMS("ownerItems");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная операция: " + key);
+    }
+}
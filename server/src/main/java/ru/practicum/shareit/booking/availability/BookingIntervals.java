@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.util.Arrays;
+
+/**
+ * Класс BookingIntervals хранит бронирования одной вещи в примитивных массивах, упорядоченных по (start, id).
+ * Время хранится в микросекундах от начала эпохи. Дополнительный массив maxEnds содержит максимальное окончание
+ * среди бронирований с начала массива до текущей позиции, поэтому проверка пересечения сводится к одному бинарному
+ * поиску, даже если интервалы в истории перекрываются.
+ * Класс не потокобезопасен, синхронизацию обеспечивает {@link ItemAvailabilityIndex}.
+ */
+class BookingIntervals {
+    private long[] starts = new long[4];
+    private long[] ends = new long[4];
+    private long[] maxEnds = new long[4];
+    private long[] ids = new long[4];
+    private long[] bookerIds = new long[4];
+    private int size;
+
+    /**
+     * Метод add добавляет бронирование, сохраняя порядок. Повторное добавление игнорируется.
+     */
+    void add(long id, long bookerId, long start, long end) {
+        int position = find(start, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        if (size == ids.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            bookerIds = Arrays.copyOf(bookerIds, capacity);
+        }
+        shift(insertAt, insertAt + 1, size - insertAt);
+        starts[insertAt] = start;
+        ends[insertAt] = end;
+        ids[insertAt] = id;
+        bookerIds[insertAt] = bookerId;
+        size++;
+        updateMaxEnds(insertAt);
+    }
+
+    /**
+     * Метод remove удаляет бронирование с указанными началом и идентификатором.
+     */
+    void remove(long id, long start) {
+        int position = find(start, id);
+        if (position < 0) {
+            return;
+        }
+        shift(position + 1, position, size - position - 1);
+        size--;
+        updateMaxEnds(position);
+    }
+
+    /**
+     * Метод overlaps проверяет, пересекается ли интервал [start, end) хотя бы с одним бронированием.
+     */
+    boolean overlaps(long start, long end) {
+        int last = countStartedBefore(end) - 1;
+        return last >= 0 && maxEnds[last] > start;
+    }
+
+    /**
+     * Метод lastStarted возвращает позицию бронирования с наибольшим началом, не превышающим moment, или -1.
+     */
+    int lastStarted(long moment) {
+        return countStartedBefore(moment + 1) - 1;
+    }
+
+    /**
+     * Метод firstStartingAfter возвращает позицию первого бронирования, начинающегося позже moment, или -1.
+     */
+    int firstStartingAfter(long moment) {
+        int position = countStartedBefore(moment + 1);
+        return position < size ? position : -1;
+    }
+
+    long id(int position) {
+        return ids[position];
+    }
+
+    long bookerId(int position) {
+        return bookerIds[position];
+    }
+
+    long start(int position) {
+        return starts[position];
+    }
+
+    long end(int position) {
+        return ends[position];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int countStartedBefore(long moment) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < moment) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int find(long start, long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compare = starts[middle] != start ? Long.compare(starts[middle], start) : Long.compare(ids[middle], id);
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(starts, from, starts, to, length);
+        System.arraycopy(ends, from, ends, to, length);
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(bookerIds, from, bookerIds, to, length);
+    }
+
+    private void updateMaxEnds(int from) {
+        long max = from == 0 ? Long.MIN_VALUE : maxEnds[from - 1];
+        for (int i = from; i < size; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Класс ItemAvailabilityIndex — индекс занятости вещей в памяти приложения. Для каждой недавно запрошенной вещи
+ * хранятся бронирования в статусах WAITING и APPROVED, что позволяет проверять пересечение интервалов и находить
+ * последнее и следующее подтверждённые бронирования бинарным поиском без обращения к базе данных.
+ * Индекс включается свойством shareit.availability.index.enabled. Вещи загружаются при первом обращении, число
+ * вещей в памяти ограничено свойством shareit.availability.index.max-items, давно не запрашивавшиеся вытесняются.
+ * Изменения бронирований применяются перед фиксацией транзакции, пока строка вещи заблокирована, а после отката
+ * вещь удаляется из индекса и при следующем обращении загружается заново.
+ */
+@Component
+public class ItemAvailabilityIndex {
+    private static final List<BookingStatus> OCCUPYING_STATUSES = List.of(BookingStatus.WAITING,
+            BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final Lock lock = new ReentrantLock();
+    private final Map<Long, ItemBookings> items;
+    /**
+     * Счётчик изменений: загрузка сохраняется в индекс, только если за время чтения из базы данных изменений не было.
+     */
+    private long stamp;
+
+    public ItemAvailabilityIndex(BookingRepository bookingRepository,
+                                 @Value("${shareit.availability.index.enabled:false}") boolean enabled,
+                                 @Value("${shareit.availability.index.max-items:10000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.items = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ItemBookings> eldest) {
+                return size() > maxItems;
+            }
+        };
+    }
+
+    /**
+     * Метод isEnabled сообщает, нужно ли обращаться к индексу вместо базы данных.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Метод hasOverlap проверяет, пересекается ли интервал [start, end) с бронированием вещи в статусе WAITING или
+     * APPROVED. Вызывается в транзакции, заблокировавшей строку вещи.
+     *
+     * @param itemId идентификатор вещи.
+     * @param start  начало интервала.
+     * @param end    окончание интервала.
+     * @return true, если найдено пересечение.
+     */
+    public boolean hasOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        long from = toMicros(start);
+        long to = toMicros(end);
+        lock.lock();
+        try {
+            ItemBookings bookings = items.get(itemId);
+            if (bookings != null) {
+                return bookings.occupied().overlaps(from, to);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return load(List.of(itemId)).get(itemId).occupied().overlaps(from, to);
+    }
+
+    /**
+     * Метод findLastAndNext находит для каждой вещи последнее начавшееся к моменту now и ближайшее будущее
+     * подтверждённые бронирования. Отсутствующие в индексе вещи загружаются одним запросом.
+     *
+     * @param itemIds идентификаторы вещей.
+     * @param now     момент, относительно которого определяются бронирования.
+     * @return бронирования по идентификатору вещи; вещи без бронирований в результат не попадают.
+     */
+    public Map<Long, LastAndNext> findLastAndNext(Collection<Long> itemIds, LocalDateTime now) {
+        long moment = toMicros(now);
+        Map<Long, LastAndNext> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Long itemId : itemIds) {
+                ItemBookings bookings = items.get(itemId);
+                if (bookings == null) {
+                    missing.add(itemId);
+                } else {
+                    putLastAndNext(result, itemId, bookings.approved(), moment);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!missing.isEmpty()) {
+            load(missing).forEach((itemId, bookings) -> putLastAndNext(result, itemId, bookings.approved(), moment));
+        }
+        return result;
+    }
+
+    /**
+     * Метод add учитывает новое бронирование в статусе WAITING или APPROVED.
+     *
+     * @param booking сохранённое бронирование.
+     */
+    public void add(Booking booking) {
+        long id = booking.getId();
+        long bookerId = booking.getBooker().getId();
+        long start = toMicros(booking.getStart());
+        long end = toMicros(booking.getEnd());
+        BookingStatus status = booking.getStatus();
+        onWrite(booking.getItem().getId(), bookings -> {
+            if (OCCUPYING_STATUSES.contains(status)) {
+                bookings.occupied().add(id, bookerId, start, end);
+            }
+            if (status == BookingStatus.APPROVED) {
+                bookings.approved().add(id, bookerId, start, end);
+            }
+        });
+    }
+
+    /**
+     * Метод statusChanged учитывает смену статуса бронирования.
+     *
+     * @param booking бронирование с новым статусом.
+     */
+    public void statusChanged(Booking booking) {
+        long id = booking.getId();
+        long bookerId = booking.getBooker().getId();
+        long start = toMicros(booking.getStart());
+        long end = toMicros(booking.getEnd());
+        BookingStatus status = booking.getStatus();
+        onWrite(booking.getItem().getId(), bookings -> {
+            bookings.occupied().remove(id, start);
+            bookings.approved().remove(id, start);
+            if (OCCUPYING_STATUSES.contains(status)) {
+                bookings.occupied().add(id, bookerId, start, end);
+            }
+            if (status == BookingStatus.APPROVED) {
+                bookings.approved().add(id, bookerId, start, end);
+            }
+        });
+    }
+
+    /**
+     * Метод evict удаляет вещь из индекса, например при удалении вещи вместе с её бронированиями.
+     *
+     * @param itemId идентификатор вещи.
+     */
+    public void evict(long itemId) {
+        onWrite(itemId, bookings -> items.remove(itemId));
+    }
+
+    /**
+     * Метод clear очищает индекс, например при удалении пользователя вместе с его бронированиями.
+     */
+    public void clear() {
+        onWrite(null, bookings -> items.clear());
+    }
+
+    private Map<Long, ItemBookings> load(Collection<Long> itemIds) {
+        long loadStamp;
+        lock.lock();
+        try {
+            loadStamp = stamp;
+        } finally {
+            lock.unlock();
+        }
+        Map<Long, ItemBookings> loaded = new HashMap<>();
+        itemIds.forEach(itemId -> loaded.put(itemId, new ItemBookings(loadStamp)));
+        for (BookingIntervalView booking : bookingRepository.findItemIntervals(itemIds, OCCUPYING_STATUSES)) {
+            ItemBookings bookings = loaded.get(booking.getItemId());
+            long start = toMicros(booking.getStartDate());
+            long end = toMicros(booking.getEndDate());
+            bookings.occupied().add(booking.getId(), booking.getBookerId(), start, end);
+            if (booking.getStatus() == BookingStatus.APPROVED) {
+                bookings.approved().add(booking.getId(), booking.getBookerId(), start, end);
+            }
+        }
+        lock.lock();
+        try {
+            if (stamp == loadStamp) {
+                items.putAll(loaded);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    /**
+     * Метод onWrite применяет изменение к вещи в индексе перед фиксацией транзакции. Загрузки, читавшие базу данных
+     * одновременно с изменением, в индекс не попадают, а после отката вещь удаляется из индекса.
+     *
+     * @param itemId   идентификатор вещи или null, если изменение затрагивает все вещи.
+     * @param mutation изменение, применяемое к бронированиям вещи.
+     */
+    private void onWrite(Long itemId, Consumer<ItemBookings> mutation) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.lock();
+            try {
+                stamp++;
+                invalidate(itemId);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long writeStamp = -1;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.lock();
+                try {
+                    writeStamp = ++stamp;
+                    ItemBookings bookings = itemId == null ? null : items.get(itemId);
+                    if (itemId == null || bookings != null) {
+                        mutation.accept(bookings);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                lock.lock();
+                try {
+                    stamp++;
+                    if (writeStamp < 0) {
+                        return;
+                    }
+                    ItemBookings bookings = itemId == null ? null : items.get(itemId);
+                    // Вещь, загруженная после применения изменения, могла не увидеть ещё не зафиксированную запись.
+                    boolean stale = itemId == null || (bookings != null && bookings.loadStamp() >= writeStamp);
+                    if (status != STATUS_COMMITTED || stale) {
+                        invalidate(itemId);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private void invalidate(Long itemId) {
+        if (itemId == null) {
+            items.clear();
+        } else {
+            items.remove(itemId);
+        }
+    }
+
+    private void putLastAndNext(Map<Long, LastAndNext> result, Long itemId, BookingIntervals approved, long moment) {
+        BookingItemDto last = toDto(approved, approved.lastStarted(moment));
+        BookingItemDto next = toDto(approved, approved.firstStartingAfter(moment));
+        if (last != null || next != null) {
+            result.put(itemId, new LastAndNext(last, next));
+        }
+    }
+
+    private BookingItemDto toDto(BookingIntervals intervals, int position) {
+        if (position < 0) {
+            return null;
+        }
+        return new BookingItemDto(intervals.id(position), intervals.bookerId(position),
+                fromMicros(intervals.start(position)), fromMicros(intervals.end(position)));
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Последнее и следующее подтверждённые бронирования вещи; любое из них может отсутствовать.
+     */
+    public record LastAndNext(BookingItemDto last, BookingItemDto next) {
+    }
+
+    private record ItemBookings(BookingIntervals occupied, BookingIntervals approved, long loadStamp) {
+        ItemBookings(long loadStamp) {
+            this(new BookingIntervals(), new BookingIntervals(), loadStamp);
+        }
+    }
+}
@@ -3,9 +3,14 @@ package ru.practicum.shareit.booking.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -18,6 +23,7 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService service;
 
     /**
@@ -30,7 +36,7 @@ public class BookingController {
     @PostMapping
     public BookingDtoResponse addBooking(@RequestHeader("X-Sharer-User-Id") long userId,
                                          @Valid @RequestBody BookingDtoRequest bookingDtoRequest) {
-        log.info("Получен запрос на создание бронирования");
+        log.debug("Получен запрос на создание бронирования");
         return service.addBooking(userId, bookingDtoRequest);
     }
 
@@ -46,7 +52,7 @@ public class BookingController {
     public BookingDtoResponse updateBooking(@PathVariable("booking-id") long bookingId,
                                             @RequestHeader("X-Sharer-User-Id") long userId,
                                             @RequestParam Boolean approved) {
-        log.info("Получен запрос на обновление бронирования");
+        log.debug("Получен запрос на обновление бронирования");
         return service.updateBooking(bookingId, userId, approved);
     }
 
@@ -60,35 +66,88 @@ public class BookingController {
     @GetMapping("/{booking-id}")
     public BookingDtoResponse getBooking(@PathVariable("booking-id") long bookingId,
                                          @RequestHeader("X-Sharer-User-Id") long userId) {
-        log.info("Получен запрос на получение бронирования");
+        log.debug("Получен запрос на получение бронирования");
         return service.getBooking(bookingId, userId);
     }
 
     /**
      * Метод для получения списка бронирований пользователя.
      *
-     * @param state  — статус бронирования (ALL — все бронирования, или другой указанный статус).
-     * @param userId — идентификатор пользователя, чьи бронирования нужно получить.
+     * @param state   — статус бронирования (ALL — все бронирования, или другой указанный статус).
+     * @param userId  — идентификатор пользователя, чьи бронирования нужно получить.
+     * @param cursor  — курсор из заголовка X-Next-Cursor предыдущего ответа.
+     * @param from    — номер начальной позиции в списке результатов.
+     * @param size    — количество бронирований на странице.
+     * @param request — текущий запрос для проверки заголовка If-None-Match.
      * @return список ответов с информацией о бронировании в формате BookingDtoResponse.
      */
     @GetMapping
-    public List<BookingDtoResponse> getAllBookingByUser(@RequestParam(defaultValue = "ALL") String state,
-                                                        @RequestHeader("X-Sharer-User-Id") long userId) {
-        log.info("Получен запрос на получение списка бронирования пользователя с id: {} со статусом {}", userId, state);
-        return service.getAllBookingByUser(state, userId);
+    public ResponseEntity<List<BookingDtoResponse>> getAllBookingByUser(
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        log.debug("Получен запрос на получение списка бронирования пользователя с id: {} со статусом {}", userId, state);
+        if (request.checkNotModified(service.getBookerBookingsETag(userId))) {
+            return null;
+        }
+        return toResponse(service.getAllBookingByUser(state, userId, cursor, from, size));
     }
 
     /**
      * Метод для получения списка бронирований, принадлежащих определённому владельцу.
      *
-     * @param state  — статус бронирования (ALL — все бронирования, или другой указанный статус).
-     * @param userId — идентификатор пользователя, который выполняет запрос.
+     * @param state   — статус бронирования (ALL — все бронирования, или другой указанный статус).
+     * @param userId  — идентификатор пользователя, который выполняет запрос.
+     * @param cursor  — курсор из заголовка X-Next-Cursor предыдущего ответа.
+     * @param from    — номер начальной позиции в списке результатов.
+     * @param size    — количество бронирований на странице.
+     * @param request — текущий запрос для проверки заголовка If-None-Match.
      * @return список ответов с информацией о бронировании в формате BookingDtoResponse.
      */
     @GetMapping("/owner")
-    public List<BookingDtoResponse> getAllBookingByOwner(@RequestParam(defaultValue = "ALL") String state,
-                                                         @RequestHeader("X-Sharer-User-Id") long userId) {
-        log.info("Получен запрос на получение бронирований владельца с id: {} со статусом {}", userId, state);
-        return service.getAllBookingByOwner(state, userId);
+    public ResponseEntity<List<BookingDtoResponse>> getAllBookingByOwner(
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        log.debug("Получен запрос на получение бронирований владельца с id: {} со статусом {}", userId, state);
+        if (request.checkNotModified(service.getOwnerBookingsETag(userId))) {
+            return null;
+        }
+        return toResponse(service.getAllBookingByOwner(state, userId, cursor, from, size));
+    }
+
+    /**
+     * Метод для выгрузки всех бронирований владельца в формате NDJSON. Ответ записывается в отдельном потоке по мере
+     * чтения бронирований из базы данных и не собирается в памяти целиком.
+     *
+     * @param userId — идентификатор владельца вещей.
+     * @return ответ, тело которого записывается потоком.
+     */
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") long userId) {
+        log.debug("Получен запрос на выгрузку бронирований владельца с id: {}", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> service.exportBookingsByOwner(userId, out));
+    }
+
+    /**
+     * Метод формирует ответ со страницей бронирований; курсор следующей страницы передаётся в заголовке.
+     *
+     * @param page — страница бронирований.
+     */
+    private ResponseEntity<List<BookingDtoResponse>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 }
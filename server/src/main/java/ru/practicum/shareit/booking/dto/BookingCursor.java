@@ -0,0 +1,66 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.error.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в списке бронирований, упорядоченном по (start desc, id desc).
+ * Клиенту передаётся в виде непрозрачной строки, которую он возвращает для получения следующей страницы.
+ *
+ * @param start — дата начала последнего бронирования на предыдущей странице.
+ * @param id    — идентификатор последнего бронирования на предыдущей странице.
+ */
+public record BookingCursor(LocalDateTime start, long id) {
+    /**
+     * Позиция перед первым бронированием: любая реальная запись оказывается «после» неё.
+     */
+    public static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Возвращает позицию сразу после указанного бронирования.
+     *
+     * @param booking — последнее бронирование на странице.
+     * @return позиция для запроса следующей страницы.
+     */
+    public static BookingCursor after(Booking booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    /**
+     * Разбирает строку курсора, полученную от клиента.
+     *
+     * @param token — строка курсора; пустое значение означает первую страницу.
+     * @return позиция в списке бронирований.
+     * @throws BadRequestException если строка не является курсором, выданным сервером.
+     */
+    public static BookingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Некорректный курсор: " + token);
+        }
+    }
+
+    /**
+     * Кодирует позицию в строку для передачи клиенту.
+     *
+     * @return непрозрачная строка курсора.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * Проекция бронирования для индекса занятости вещей: к полям BookingShortView добавляется статус.
+ */
+public interface BookingIntervalView extends BookingShortView {
+    BookingStatus getStatus();
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO-объект страницы списка бронирований.
+ * - bookings — бронирования текущей страницы;
+ * - nextCursor — курсор следующей страницы или null, если страница последняя;
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+public class BookingPageDto {
+    private List<BookingDtoResponse> bookings;
+    private String nextCursor;
+}
@@ -4,6 +4,7 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
 import ru.practicum.shareit.item.model.Item;
@@ -50,6 +51,20 @@ public class BookingMapper {
                 .build();
     }
 
+    /**
+     * Преобразует проекцию бронирования в DTO-объект информации о бронировании товара.
+     *
+     * @param booking проекция бронирования
+     * @return DTO-объект информации о бронировании вещи
+     */
+    public BookingItemDto toItemBookingInfoDto(BookingShortView booking) {
+        return new BookingItemDto(
+                booking.getId(),
+                booking.getBookerId(),
+                booking.getStartDate(),
+                booking.getEndDate());
+    }
+
     /**
      * Преобразует объект бронирования в DTO-объект информации о бронировании товара.
      *
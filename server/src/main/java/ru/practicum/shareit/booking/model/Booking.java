@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
  * — end — дата и время окончания бронирования;
  * — item — вещь, которая была забронирована;
  * — booker — пользователь, сделавший бронирование;
- * — status — статус бронирования.
+ * — status — статус бронирования;
+ * — version — версия записи, увеличивается при каждом изменении.
  */
 @Builder
 @Entity
@@ -26,7 +27,8 @@ import java.time.LocalDateTime;
 @Table(name = "bookings", schema = "public")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
     @Column(name = "start_date")
     private LocalDateTime start;
@@ -41,4 +43,6 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private BookingStatus status;
+    @Version
+    private Long version;
 }
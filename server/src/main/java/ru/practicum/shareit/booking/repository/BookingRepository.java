@@ -1,140 +1,267 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.etag.TimedVersionStamp;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     /**
-     * Метод находит все бронирования для указанных вещей, которые соответствуют заданному статусу.
+     * Количество строк, которые драйвер получает от базы данных за одно обращение при потоковой выгрузке.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Начало запросов страниц бронирований: вещь и автор бронирования загружаются тем же запросом.
+     */
+    String SELECT_PAGE = "select b from Booking b join fetch b.item i join fetch b.booker ";
+
+    /**
+     * Условие продолжения после курсора (start, id) и порядок, совпадающий с индексами по (…, start_date, id).
+     */
+    String AFTER_CURSOR = " and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))"
+            + " order by b.start desc, b.id desc";
+
+    /**
+     * Метод для каждой из указанных вещей находит не более двух подтверждённых бронирований: последнее начавшееся
+     * к моменту now и ближайшее будущее. Выбор выполняется оконной функцией на стороне базы данных, поэтому
+     * история бронирований вещи целиком не загружается. Из бронирований с одинаковой датой начала последним
+     * считается бронирование с большим идентификатором, а следующим — с меньшим, как в ItemAvailabilityIndex.
      *
-     * @param items   — список вещей, для которых нужно найти бронирования.
-     * @param status  — статус, который должны иметь бронирования, чтобы быть включёнными в результат.
-     * @param created — порядок сортировки результатов по дате создания.
-     * @return возвращает список всех бронирований для указанных вещей и статуса.
+     * @param itemIds — идентификаторы вещей.
+     * @param now     — момент, относительно которого определяются последнее и следующее бронирования.
+     * @return возвращает проекции последних и следующих бронирований вещей.
      */
-    List<Booking> findByItemInAndStatus(List<Item> items, BookingStatus status, Sort created);
+    @Query(value = "select t.id as id, t.item_id as itemId, t.booker_id as bookerId, t.start_date as startDate, " +
+            "t.end_date as endDate " +
+            "from (select b.id, b.item_id, b.booker_id, b.start_date, b.end_date, " +
+            "row_number() over (partition by b.item_id, b.start_date <= :now " +
+            "order by case when b.start_date <= :now then b.start_date end desc, " +
+            "case when b.start_date <= :now then b.id end desc, b.start_date, b.id) as rn " +
+            "from bookings b where b.item_id in (:itemIds) and b.status = 'APPROVED') t " +
+            "where t.rn = 1", nativeQuery = true)
+    List<BookingShortView> findLastAndNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                                   @Param("now") LocalDateTime now);
 
     /**
-     * Метод находит все бронирования, сделанные пользователем с указанным идентификатором.
+     * Метод находит страницу бронирований, сделанных пользователем, после указанной позиции курсора.
      *
-     * @param userId — идентификатор пользователя, чьи бронирования нужно найти.
-     * @param sort   — порядок сортировки результатов.
-     * @return возвращает список всех бронирований, сделанных указанным пользователем.
+     * @param userId      — идентификатор пользователя, чьи бронирования нужно найти.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает бронирования пользователя, отсортированные по дате начала и идентификатору по убыванию.
      */
-    List<Booking> findByBookerId(Long userId, Sort sort);
+    @Query(SELECT_PAGE + "where b.booker.id = :userId" + AFTER_CURSOR)
+    List<Booking> findBookerPage(@Param("userId") Long userId,
+                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                 @Param("cursorId") Long cursorId,
+                                 Pageable pageable);
 
     /**
-     * Метод находит все бронирования, сделанные пользователем с указанным идентификатором и статусом.
+     * Метод находит страницу текущих бронирований пользователя после указанной позиции курсора.
      *
-     * @param userId — идентификатор пользователя, чьи бронирования нужно найти.
-     * @param status — статус, который должны иметь бронирования, чтобы быть включёнными в результат.
-     * @return возвращает список всех бронирований, сделанных указанным пользователем и имеющих указанный статус.
+     * @param userId      — идентификатор пользователя, чьи бронирования нужно найти.
+     * @param now         — текущая дата и время.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает текущие бронирования пользователя, отсортированные по дате начала и идентификатору по
+     * убыванию.
      */
-    List<Booking> findByBookerIdAndStatus(Long userId, BookingStatus status);
+    @Query(SELECT_PAGE + "where b.booker.id = :userId and :now between b.start and b.end" + AFTER_CURSOR)
+    List<Booking> findBookerCurrentPage(@Param("userId") Long userId,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
 
     /**
-     * Метод находит все бронирования, связанные с определённым владельцем вещи.
+     * Метод находит страницу завершившихся до указанной даты бронирований пользователя с указанным статусом.
      *
-     * @param ownerId — идентификатор владельца вещи, чьи бронирования нужно найти.
-     * @return возвращает список всех бронирований, связанных с указанным владельцем вещи.
+     * @param userId      — идентификатор пользователя, чьи бронирования нужно найти.
+     * @param now         — дата, до которой должны заканчиваться бронирования.
+     * @param status      — статус, который должны иметь бронирования.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает прошедшие бронирования пользователя, отсортированные по дате начала и идентификатору по
+     * убыванию.
      */
-    List<Booking> findByItem_OwnerId(Long ownerId);
+    @Query(SELECT_PAGE + "where b.booker.id = :userId and b.end < :now and b.status = :status" + AFTER_CURSOR)
+    List<Booking> findBookerPastPage(@Param("userId") Long userId,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("status") BookingStatus status,
+                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
 
     /**
-     * Метод находит все бронирования, сделанные пользователем с указанным идентификатором, которые заканчиваются
-     * до указанной даты и имеют указанный статус.
+     * Метод находит страницу бронирований пользователя, которые начинаются после указанной даты.
      *
-     * @param userId — идентификатор пользователя, чьи бронирования нужно найти.
-     * @param now    — дата, до которой должны заканчиваться бронирования, чтобы быть включёнными в результат.
-     * @param status — статус, который должны иметь бронирования, чтобы быть включёнными в результат.
-     * @return возвращает список всех бронирований, сделанных указанным пользователем, которые заканчиваются до
-     * указанной даты и имеют указанный статус.
+     * @param userId      — идентификатор пользователя, чьи бронирования нужно найти.
+     * @param now         — дата, после которой должны начинаться бронирования.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает будущие бронирования пользователя, отсортированные по дате начала и идентификатору по
+     * убыванию.
      */
-    List<Booking> findByBookerIdAndEndBeforeAndStatus(Long userId, LocalDateTime now, BookingStatus status);
+    @Query(SELECT_PAGE + "where b.booker.id = :userId and b.start > :now" + AFTER_CURSOR)
+    List<Booking> findBookerFuturePage(@Param("userId") Long userId,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
 
     /**
-     * Метод находит все бронирования для вещей конкретного владельца, которые заканчиваются до указанной даты
-     * и имеют указанный статус.
+     * Метод находит страницу бронирований пользователя, имеющих один из указанных статусов.
      *
-     * @param userId — идентификатор владельца вещи, чьи бронирования нужно найти.
-     * @param now    — дата, до которой должны заканчиваться бронирования, чтобы быть включёнными в результат.
-     * @param status — статус, который должны иметь бронирования, чтобы быть включёнными в результат.
-     * @return возвращает список всех бронирований для вещей указанного владельца, которые заканчиваются до
-     * указанной даты и имеют указанный статус.
+     * @param userId      — идентификатор пользователя, чьи бронирования нужно найти.
+     * @param statuses    — допустимые статусы бронирований.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает бронирования пользователя с указанными статусами, отсортированные по дате начала и
+     * идентификатору по убыванию.
      */
-    List<Booking> findByItem_OwnerIdAndEndBeforeAndStatus(Long userId, LocalDateTime now, BookingStatus status);
+    @Query(SELECT_PAGE + "where b.booker.id = :userId and b.status in :statuses" + AFTER_CURSOR)
+    List<Booking> findBookerPageByStatus(@Param("userId") Long userId,
+                                         @Param("statuses") Collection<BookingStatus> statuses,
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
 
     /**
-     * Этот метод находит все бронирования, сделанные пользователем с указанным идентификатором, которые начинаются
-     * после указанной даты.
+     * Метод находит страницу бронирований вещей владельца после указанной позиции курсора.
      *
-     * @param userId — идентификатор пользователя, чьи бронирования нужно найти.
-     * @param now    — дата, после которой должны начинаться бронирования, чтобы быть включёнными в результат.
-     * @return возвращает список всех бронирований, сделанных указанным пользователем, которые начинаются после
-     * указанной даты.
+     * @param ownerId     — идентификатор владельца вещей, чьи бронирования нужно найти.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает бронирования вещей владельца, отсортированные по дате начала и идентификатору по убыванию.
      */
-    List<Booking> findByBookerIdAndStartAfter(Long userId, LocalDateTime now);
+    @Query(SELECT_PAGE + "where i.owner.id = :ownerId" + AFTER_CURSOR)
+    List<Booking> findOwnerPage(@Param("ownerId") Long ownerId,
+                                @Param("cursorStart") LocalDateTime cursorStart,
+                                @Param("cursorId") Long cursorId,
+                                Pageable pageable);
 
     /**
-     * Этот метод находит все бронирования для вещей конкретного владельца, которые имеют указанный статус или
-     * другой указанный статус.
+     * Метод находит страницу текущих бронирований вещей владельца после указанной позиции курсора.
      *
-     * @param userId      — идентификатор владельца вещи, чьи бронирования нужно найти.
-     * @param status      — первый статус, который должны иметь бронирования, чтобы быть включёнными в результат.
-     * @param otherStatus — второй статус, который также должен быть у бронирований, чтобы они были включены в
-     *                    результат.
-     * @return возвращает список всех бронирований для вещей указанного владельца, которые имеют один из указанных
-     * статусов.
+     * @param ownerId     — идентификатор владельца вещей, чьи бронирования нужно найти.
+     * @param now         — текущая дата и время.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает текущие бронирования вещей владельца, отсортированные по дате начала и идентификатору по
+     * убыванию.
      */
-    List<Booking> findByItem_OwnerIdAndStatusOrStatus(Long userId, BookingStatus status, BookingStatus otherStatus);
+    @Query(SELECT_PAGE + "where i.owner.id = :ownerId and :now between b.start and b.end" + AFTER_CURSOR)
+    List<Booking> findOwnerCurrentPage(@Param("ownerId") Long ownerId,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
 
     /**
-     * Этот метод находит все бронирования, сделанные пользователем с указанным идентификатором, которые имеют указанный
-     * статус или другой указанный статус.
+     * Метод находит страницу завершившихся до указанной даты бронирований вещей владельца с указанным статусом.
      *
-     * @param userId      — идентификатор пользователя, чьи бронирования нужно найти.
-     * @param status      — первый статус, который должны иметь бронирования, чтобы быть включёнными в результат.
-     * @param otherStatus — второй статус, который также должен быть у бронирований, чтобы они были включены в
-     *                    результат.
-     * @return возвращает список всех бронирований, сделанных указанным пользователем, которые имеют один из указанных
-     * статусов.
+     * @param ownerId     — идентификатор владельца вещей, чьи бронирования нужно найти.
+     * @param now         — дата, до которой должны заканчиваться бронирования.
+     * @param status      — статус, который должны иметь бронирования.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает прошедшие бронирования вещей владельца, отсортированные по дате начала и идентификатору по
+     * убыванию.
      */
-    List<Booking> findByBookerIdAndStatusOrStatus(Long userId, BookingStatus status, BookingStatus otherStatus);
+    @Query(SELECT_PAGE + "where i.owner.id = :ownerId and b.end < :now and b.status = :status" + AFTER_CURSOR)
+    List<Booking> findOwnerPastPage(@Param("ownerId") Long ownerId,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("status") BookingStatus status,
+                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
 
     /**
-     * Этот метод находит все бронирования для вещи конкретного владельца, которые имеют указанный статус.
+     * Метод находит страницу бронирований вещей владельца, которые начинаются после указанной даты.
      *
-     * @param userId — идентификатор владельца вещи, чьи бронирования нужно найти.
-     * @param status — статус, который должны иметь бронирования, чтобы быть включёнными в результат.
-     * @return возвращает список всех бронирований для вещей указанного владельца, которые имеют указанный статус.
+     * @param ownerId     — идентификатор владельца вещей, чьи бронирования нужно найти.
+     * @param now         — дата, после которой должны начинаться бронирования.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает будущие бронирования вещей владельца, отсортированные по дате начала и идентификатору по
+     * убыванию.
      */
-    List<Booking> findByItem_OwnerIdAndStatus(Long userId, BookingStatus status);
+    @Query(SELECT_PAGE + "where i.owner.id = :ownerId and b.start > :now" + AFTER_CURSOR)
+    List<Booking> findOwnerFuturePage(@Param("ownerId") Long ownerId,
+                                      @Param("now") LocalDateTime now,
+                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                      @Param("cursorId") Long cursorId,
+                                      Pageable pageable);
 
     /**
-     * Метод находит все бронирования для вещей конкретного владельца, которые начинаются после указанной даты.
+     * Метод находит страницу бронирований вещей владельца, имеющих один из указанных статусов.
      *
-     * @param userId — идентификатор владельца вещи, чьи бронирования нужно найти.
-     * @param now    — дата, после которой должны начинаться бронирования, чтобы быть включёнными в результат.
-     * @return возвращает список всех бронирований для вещей указанного владельца, которые имеют указанный статус.
+     * @param ownerId     — идентификатор владельца вещей, чьи бронирования нужно найти.
+     * @param statuses    — допустимые статусы бронирований.
+     * @param cursorStart — дата начала последнего бронирования предыдущей страницы.
+     * @param cursorId    — идентификатор последнего бронирования предыдущей страницы.
+     * @param pageable    — размер страницы.
+     * @return возвращает бронирования вещей владельца с указанными статусами, отсортированные по дате начала и
+     * идентификатору по убыванию.
      */
-    List<Booking> findByItem_OwnerIdAndStartAfter(Long userId, LocalDateTime now);
+    @Query(SELECT_PAGE + "where i.owner.id = :ownerId and b.status in :statuses" + AFTER_CURSOR)
+    List<Booking> findOwnerPageByStatus(@Param("ownerId") Long ownerId,
+                                        @Param("statuses") Collection<BookingStatus> statuses,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
 
     /**
-     * Метод находит все бронирования конкретной вещи, которые начинаются после указанной даты.
+     * Метод проверяет, пересекается ли интервал [start, end) с каким-либо бронированием вещи в одном из указанных
+     * статусов. Учитываются все варианты взаимного расположения интервалов, включая частичное перекрытие и
+     * вложенность.
      *
-     * @param itemId — идентификатор владельца вещи, чьи бронирования нужно найти.
-     * @param start  — дата, после которой должны начинаться бронирования, чтобы быть включёнными в результат.
-     * @param end    — дата, до которой должны начинаться бронирования, чтобы быть включёнными в результат.
-     * @return возвращает список всех бронирований для вещей указанного владельца, которые имеют указанный статус.
+     * @param itemId   — идентификатор вещи.
+     * @param start    — начало проверяемого интервала.
+     * @param end      — окончание проверяемого интервала.
+     * @param statuses — статусы бронирований, которые занимают вещь.
+     * @return true, если найдено пересекающееся бронирование.
      */
-    List<Booking> findByItemIdAndStartAfterAndEndBefore(Long itemId, LocalDateTime start, LocalDateTime end);
+    @Query("select count(b) > 0 from Booking b where b.item.id = ?1 and b.status in ?4 and b.start < ?3 " +
+            "and b.end > ?2")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end,
+                              Collection<BookingStatus> statuses);
+
+    /**
+     * Метод загружает бронирования указанных вещей в указанных статусах для индекса занятости. Бронирования каждой
+     * вещи упорядочены по началу, поэтому индекс заполняется добавлением в конец.
+     *
+     * @param itemIds  — идентификаторы вещей.
+     * @param statuses — статусы бронирований, которые нужно загрузить.
+     * @return возвращает проекции бронирований, упорядоченные по вещи, началу и идентификатору.
+     */
+    @Query("select b.id as id, b.item.id as itemId, b.booker.id as bookerId, b.start as startDate, " +
+            "b.end as endDate, b.status as status from Booking b where b.item.id in ?1 and b.status in ?2 " +
+            "order by b.item.id, b.start, b.id")
+    List<BookingIntervalView> findItemIntervals(Collection<Long> itemIds, Collection<BookingStatus> statuses);
 
     /**
      * Проверяет наличие бронирований для определённого товара, пользователя и статуса.
@@ -150,29 +277,60 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Boolean checkValidateBookingsFromItemAndStatus(Long itemId, Long userId, BookingStatus status, LocalDateTime end);
 
     /**
-     * Находит все текущие бронирования пользователя, упорядоченные по времени начала.
+     * Метод возвращает все бронирования вещей владельца в виде потока. Строки читаются из базы данных порциями по
+     * EXPORT_FETCH_SIZE по мере чтения потока; сущности загружаются только для чтения. Поток нужно закрыть и
+     * прочитать внутри транзакции.
      *
-     * @param userId идентификатор пользователя
-     * @param now    текущая дата и время
-     * @return список текущих бронирований пользователя, отсортированный по времени начала
+     * @param ownerId — идентификатор владельца вещей.
+     * @return возвращает поток бронирований, отсортированных по дате начала и идентификатору по убыванию.
      */
-    @Query("select b from Booking b where b.booker.id = ?1 and ?2 between b.start and b.end order by b.start DESC")
-    List<Booking> findByBookerAllCurrentBookings(Long userId, LocalDateTime now);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Booking b join fetch b.item i join fetch i.owner join fetch b.booker " +
+            "where i.owner.id = :ownerId order by b.start desc, b.id desc")
+    Stream<Booking> streamByOwner(@Param("ownerId") Long ownerId);
 
     /**
-     * Находит все текущие бронирования, принадлежащие определённому владельцу, упорядоченные по времени начала.
+     * Метод findItemStamp возвращает проекцию версий бронирований вещи для вычисления ETag карточки вещи. Последнее и
+     * следующее бронирование меняются, когда наступает начало очередного бронирования, поэтому nextChange — ближайшее
+     * будущее начало бронирования.
      *
-     * @param userId идентификатор владельца
-     * @param now    текущая дата и время
-     * @return список текущих бронирований, принадлежащих указанному владельцу, отсортированный по времени начала
+     * @param itemId — идентификатор вещи.
+     * @param now    — текущий момент.
+     * @return проекция версий бронирований вещи.
      */
-    @Query("select b from Booking b where b.item.owner.id = ?1 and ?2 between b.start and b.end order by b.start DESC")
-    List<Booking> findAllCurrentBookingsByOwner(Long userId, LocalDateTime now);
+    @Query("select count(b) as count, coalesce(max(b.id), 0L) as maxId, coalesce(sum(b.version), 0L) as versionSum, " +
+            "min(case when b.start > :now then b.start end) as nextChange " +
+            "from Booking b where b.item.id = :itemId")
+    TimedVersionStamp findItemStamp(@Param("itemId") long itemId, @Param("now") LocalDateTime now);
 
-    @Query
-            ("select b from Booking b " +
-                    "where b.item.id = ?1 " +
-                    "and ?2 between b.start and b.end")
-    List<Booking> checkValidateBookings(
-            Long itemId, LocalDateTime bookingDtoStartIsBeforeOrAfter);
+    /**
+     * Метод findBookerStamp возвращает проекцию версий бронирований пользователя и забронированных вещей для
+     * вычисления ETag списков бронирований. Бронирование переходит между состояниями FUTURE, CURRENT и PAST в моменты
+     * начала и окончания, поэтому nextChange — ближайший будущий из этих моментов.
+     *
+     * @param bookerId — идентификатор автора бронирований.
+     * @param now      — текущий момент.
+     * @return проекция версий бронирований пользователя.
+     */
+    @Query("select count(b) as count, coalesce(max(b.id), 0L) as maxId, " +
+            "coalesce(sum(b.version + i.version), 0L) as versionSum, " +
+            "min(case when b.start > :now then b.start when b.end > :now then b.end end) as nextChange " +
+            "from Booking b join b.item i where b.booker.id = :bookerId")
+    TimedVersionStamp findBookerStamp(@Param("bookerId") long bookerId, @Param("now") LocalDateTime now);
+
+    /**
+     * Метод findOwnerStamp возвращает проекцию версий бронирований вещей владельца, см. {@link #findBookerStamp}.
+     *
+     * @param ownerId — идентификатор владельца вещей.
+     * @param now     — текущий момент.
+     * @return проекция версий бронирований вещей владельца.
+     */
+    @Query("select count(b) as count, coalesce(max(b.id), 0L) as maxId, " +
+            "coalesce(sum(b.version + i.version), 0L) as versionSum, " +
+            "min(case when b.start > :now then b.start when b.end > :now then b.end end) as nextChange " +
+            "from Booking b join b.item i where i.owner.id = :ownerId")
+    TimedVersionStamp findOwnerStamp(@Param("ownerId") long ownerId, @Param("now") LocalDateTime now);
 }
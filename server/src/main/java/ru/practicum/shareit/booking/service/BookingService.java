@@ -2,8 +2,10 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Интерфейс BookingService для работы с бронированиями.
@@ -43,9 +45,12 @@ public interface BookingService {
      * @param state  — статус бронирования, который может быть использован для фильтрации результатов. Возможные
      *               значения зависят от реализации системы.
      * @param userId — идентификатор пользователя, чьи бронирования нужно получить.
-     * @return возвращает список объектов BookingDtoResponse, содержащих информацию о бронированиях пользователя.
+     * @param cursor — курсор, полученный вместе с предыдущей страницей, или null для первой страницы.
+     * @param from   — номер начальной позиции в списке результатов, учитывается только для первой страницы.
+     * @param size   — количество бронирований на странице.
+     * @return возвращает страницу бронирований пользователя и курсор следующей страницы.
      */
-    List<BookingDtoResponse> getAllBookingByUser(String state, long userId);
+    BookingPageDto getAllBookingByUser(String state, long userId, String cursor, int from, int size);
 
     /**
      * Метод используется для получения всех бронирований, принадлежащих пользователю.
@@ -53,7 +58,37 @@ public interface BookingService {
      * @param state  — статус бронирования, который может быть использован для фильтрации результатов. Возможные
      *               значения зависят от реализации системы.
      * @param userId — идентификатор пользователя, чьи бронирования нужно получить.
-     * @return возвращает список объектов BookingDtoResponse, содержащих информацию о бронированиях пользователя.
+     * @param cursor — курсор, полученный вместе с предыдущей страницей, или null для первой страницы.
+     * @param from   — номер начальной позиции в списке результатов, учитывается только для первой страницы.
+     * @param size   — количество бронирований на странице.
+     * @return возвращает страницу бронирований пользователя и курсор следующей страницы.
      */
-    List<BookingDtoResponse> getAllBookingByOwner(String state, long userId);
+    BookingPageDto getAllBookingByOwner(String state, long userId, String cursor, int from, int size);
+
+    /**
+     * Метод вычисляет ETag списков бронирований пользователя по версиям его бронирований и забронированных вещей без
+     * загрузки самих бронирований. ETag общий для всех состояний и страниц списка.
+     *
+     * @param userId — идентификатор автора бронирований.
+     * @return ETag списка бронирований пользователя.
+     */
+    String getBookerBookingsETag(long userId);
+
+    /**
+     * Метод вычисляет ETag списков бронирований вещей владельца, см. {@link #getBookerBookingsETag}.
+     *
+     * @param userId — идентификатор владельца вещей.
+     * @return ETag списка бронирований владельца.
+     */
+    String getOwnerBookingsETag(long userId);
+
+    /**
+     * Метод записывает все бронирования вещей владельца в поток в формате NDJSON: по одному объекту
+     * BookingDtoResponse в строке. Бронирования читаются из базы данных и записываются порциями, поэтому расход
+     * памяти не зависит от их количества.
+     *
+     * @param userId — идентификатор владельца вещей.
+     * @param out    — поток, в который записываются бронирования.
+     */
+    void exportBookingsByOwner(long userId, OutputStream out) throws IOException;
 }
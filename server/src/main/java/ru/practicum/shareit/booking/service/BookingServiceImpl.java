@@ -1,12 +1,23 @@
 package ru.practicum.shareit.booking.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -15,16 +26,21 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.error.exception.BadRequestException;
 import ru.practicum.shareit.error.exception.NotFoundException;
 import ru.practicum.shareit.error.exception.ValidationException;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.BookingStateTagResolver;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserGuard;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static org.springframework.data.domain.Sort.Direction.DESC;
 import static ru.practicum.shareit.booking.model.BookingStatus.REJECTED;
 import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
 
@@ -33,17 +49,26 @@ import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
  */
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
-    private final UserRepository userRepository;
+    /**
+     * Статусы бронирований, которые занимают вещь на свой интервал.
+     */
+    private static final List<BookingStatus> OCCUPYING_STATUSES = List.of(WAITING, BookingStatus.APPROVED);
+
+    private final UserGuard userGuard;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     @Override
     public BookingDtoResponse addBooking(long userId, BookingDtoRequest bookingDtoRequest) {
-        User user = checkUser(userId);
-        Item item = itemRepository.findById(bookingDtoRequest.getItemId()).orElseThrow(() ->
+        User user = userGuard.reference(userId);
+        Item item = itemRepository.findByIdForUpdate(bookingDtoRequest.getItemId()).orElseThrow(() ->
                 new NotFoundException("Вещь с id " + bookingDtoRequest.getItemId() + " не найдена"));
         if (!item.getAvailable()) {
             throw new BadRequestException("Вещь не доступна для бронирования");
@@ -54,6 +79,7 @@ public class BookingServiceImpl implements BookingService {
         booking.setItem(item);
         booking.setBooker(user);
         Booking result = bookingRepository.save(booking);
+        itemAvailabilityIndex.add(result);
         return BookingMapper.toBookingForResponseMapper(result);
     }
 
@@ -74,69 +100,134 @@ public class BookingServiceImpl implements BookingService {
         } else {
             booking.setStatus(REJECTED);
         }
-        checkUser(userId);
+        itemAvailabilityIndex.statusChanged(booking);
         return BookingMapper.toBookingForResponseMapper(booking);
     }
 
     @Transactional(readOnly = true)
     @Override
     public BookingDtoResponse getBooking(long bookingId, long userId) {
-        checkUser(userId);
-        checkBooking(bookingId);
-        Booking booking = bookingRepository.findById(bookingId).filter(booking1 ->
-                booking1.getBooker().getId() == userId
-                        || booking1.getItem().getOwner().getId() == userId).orElseThrow(() ->
-                new NotFoundException("Пользователь не является владельцем вещи"));
-        ;
+        userGuard.checkExists(userId);
+        Booking booking = checkBooking(bookingId);
+        if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
+            throw new NotFoundException("Пользователь не является владельцем вещи");
+        }
         return BookingMapper.toBookingForResponseMapper(booking);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<BookingDtoResponse> getAllBookingByUser(String state, long userId) {
-        checkUser(userId);
+    public BookingPageDto getAllBookingByUser(@MeterTag(key = "state", resolver = BookingStateTagResolver.class)
+                                              String state, long userId, String cursor, int from, int size) {
+        userGuard.checkExists(userId);
         LocalDateTime now = LocalDateTime.now();
         StateTypes stateBooking = StateTypes.getStateFromText(state);
+        BookingCursor after = BookingCursor.decode(cursor);
+        Pageable page = toPageable(cursor, from, size);
         List<Booking> result = switch (stateBooking) {
-            case ALL -> bookingRepository.findByBookerId(userId, Sort.by(DESC, "start"));
-            case CURRENT -> bookingRepository.findByBookerAllCurrentBookings(userId, now);
-            case PAST -> bookingRepository.findByBookerIdAndEndBeforeAndStatus(userId, now, BookingStatus.APPROVED);
-            case FUTURE -> bookingRepository.findByBookerIdAndStartAfter(userId, now);
-            case WAITING -> bookingRepository.findByBookerIdAndStatus(userId, WAITING);
-            case REJECTED ->
-                    bookingRepository.findByItem_OwnerIdAndStatusOrStatus(userId, REJECTED, BookingStatus.CANCELED);
+            case ALL -> bookingRepository.findBookerPage(userId, after.start(), after.id(), page);
+            case CURRENT -> bookingRepository.findBookerCurrentPage(userId, now, after.start(), after.id(), page);
+            case PAST -> bookingRepository.findBookerPastPage(userId, now, BookingStatus.APPROVED, after.start(),
+                    after.id(), page);
+            case FUTURE -> bookingRepository.findBookerFuturePage(userId, now, after.start(), after.id(), page);
+            case WAITING -> bookingRepository.findBookerPageByStatus(userId, List.of(WAITING), after.start(),
+                    after.id(), page);
+            case REJECTED -> bookingRepository.findBookerPageByStatus(userId, List.of(REJECTED,
+                    BookingStatus.CANCELED), after.start(), after.id(), page);
         };
-        return result.stream().map(BookingMapper::toBookingForResponseMapper)
-                .collect(Collectors.toList());
+        return toBookingPage(result, size);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<BookingDtoResponse> getAllBookingByOwner(String state, long userId) {
-        checkUser(userId);
+    public BookingPageDto getAllBookingByOwner(@MeterTag(key = "state", resolver = BookingStateTagResolver.class)
+                                               String state, long userId, String cursor, int from, int size) {
+        userGuard.checkExists(userId);
         LocalDateTime now = LocalDateTime.now();
         StateTypes stateBooking = StateTypes.getStateFromText(state);
+        BookingCursor after = BookingCursor.decode(cursor);
+        Pageable page = toPageable(cursor, from, size);
         List<Booking> result = switch (stateBooking) {
-            case ALL -> bookingRepository.findByItem_OwnerId(userId);
-            case CURRENT -> bookingRepository.findAllCurrentBookingsByOwner(userId, now);
-            case PAST -> bookingRepository.findByItem_OwnerIdAndEndBeforeAndStatus(userId, now, BookingStatus.APPROVED);
-            case FUTURE -> bookingRepository.findByItem_OwnerIdAndStartAfter(userId, now);
-            case WAITING -> bookingRepository.findByItem_OwnerIdAndStatus(userId, BookingStatus.WAITING);
-            case REJECTED -> bookingRepository.findByBookerIdAndStatusOrStatus(userId, BookingStatus.REJECTED,
-                    BookingStatus.CANCELED);
+            case ALL -> bookingRepository.findOwnerPage(userId, after.start(), after.id(), page);
+            case CURRENT -> bookingRepository.findOwnerCurrentPage(userId, now, after.start(), after.id(), page);
+            case PAST -> bookingRepository.findOwnerPastPage(userId, now, BookingStatus.APPROVED, after.start(),
+                    after.id(), page);
+            case FUTURE -> bookingRepository.findOwnerFuturePage(userId, now, after.start(), after.id(), page);
+            case WAITING -> bookingRepository.findOwnerPageByStatus(userId, List.of(WAITING), after.start(),
+                    after.id(), page);
+            case REJECTED -> bookingRepository.findOwnerPageByStatus(userId, List.of(REJECTED,
+                    BookingStatus.CANCELED), after.start(), after.id(), page);
         };
-        return result.stream().map(BookingMapper::toBookingForResponseMapper)
-                .collect(Collectors.toList());
+        return toBookingPage(result, size);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public String getBookerBookingsETag(long userId) {
+        return ETags.of("bookings", userId, bookingRepository.findBookerStamp(userId, LocalDateTime.now()).token());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public String getOwnerBookingsETag(long userId) {
+        return ETags.of("owner-bookings", userId,
+                bookingRepository.findOwnerStamp(userId, LocalDateTime.now()).token());
+    }
+
+    /**
+     * Каждые EXPORT_FETCH_SIZE бронирований буфер ответа отправляется клиенту, а контекст персистентности
+     * очищается, чтобы уже записанные сущности не накапливались в памяти.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void exportBookingsByOwner(long userId, OutputStream out) throws IOException {
+        userGuard.checkExists(userId);
+        ObjectWriter writer = objectMapper.writerFor(BookingDtoResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        try (Stream<Booking> bookings = bookingRepository.streamByOwner(userId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            int written = 0;
+            for (Iterator<Booking> iterator = bookings.iterator(); iterator.hasNext(); ) {
+                writer.writeValue(generator, BookingMapper.toBookingForResponseMapper(iterator.next()));
+                generator.writeRaw('\n');
+                if (++written % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Метод возвращает параметры страницы: смещение from учитывается только для первой страницы, дальше позицию
+     * задаёт курсор.
+     *
+     * @param cursor — курсор, полученный клиентом вместе с предыдущей страницей.
+     * @param from   — номер начальной позиции в списке результатов.
+     * @param size   — количество бронирований на странице.
+     */
+    private Pageable toPageable(String cursor, int from, int size) {
+        if (size <= 0 || from < 0) {
+            throw new BadRequestException("Некорректные параметры страницы: from=" + from + ", size=" + size);
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return PageRequest.of(from / size, size);
+        }
+        return PageRequest.of(0, size);
     }
 
     /**
-     * Метод для проверки пользователя.
+     * Метод формирует страницу ответа и курсор следующей страницы, если текущая заполнена целиком.
      *
-     * @param userId — идентификатор проверяемого бронирования.
+     * @param bookings — бронирования текущей страницы.
+     * @param size     — запрошенный размер страницы.
      */
-    private User checkUser(long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                new NotFoundException("Пользователь с id " + userId + " не найден"));
+    private BookingPageDto toBookingPage(List<Booking> bookings, int size) {
+        String nextCursor = bookings.size() < size ? null : BookingCursor.after(bookings.getLast()).encode();
+        return new BookingPageDto(bookings.stream().map(BookingMapper::toBookingForResponseMapper)
+                .collect(Collectors.toList()), nextCursor);
     }
 
     /**
@@ -151,7 +242,8 @@ public class BookingServiceImpl implements BookingService {
 
     /**
      * Метод проверяет данные, полученные от пользователя через BookingDtoRequest, на соответствие требованиям
-     * системы.
+     * системы. Вызывается после блокировки строки вещи, поэтому параллельные бронирования одной вещи не могут
+     * одновременно пройти проверку на пересечение.
      *
      * @param bookingDtoRequest — объект с данными о бронировании.
      * @param item              — вещь, которая бронируется.
@@ -161,9 +253,12 @@ public class BookingServiceImpl implements BookingService {
         if (item.getOwner().getId().equals(booker.getId())) {
             throw new ValidationException("Нельзя забронировать свою вещь");
         }
-        List<Booking> intersectBookings = bookingRepository.findByItemIdAndStartAfterAndEndBefore(item.getId(),
-                bookingDtoRequest.getStart(), bookingDtoRequest.getEnd());
-        if (intersectBookings != null && !intersectBookings.isEmpty()) {
+        boolean overlaps = itemAvailabilityIndex.isEnabled()
+                ? itemAvailabilityIndex.hasOverlap(item.getId(), bookingDtoRequest.getStart(),
+                bookingDtoRequest.getEnd())
+                : bookingRepository.existsOverlapping(item.getId(), bookingDtoRequest.getStart(),
+                bookingDtoRequest.getEnd(), OCCUPYING_STATUSES);
+        if (overlaps) {
             throw new ValidationException("Найдено пересечение бронирований на вещь " + item.getName());
         }
     }
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Класс EntityCacheConfig настраивает кэш второго уровня Hibernate на Caffeine через JCache для сущностей User,
+ * Item и ItemRequest. Регионы создаются заранее с размером и временем жизни из {@link EntityCacheProperties};
+ * Hibernate сам обновляет и удаляет записи при изменении и удалении сущностей через EntityManager.
+ * Кэш включается свойством shareit.cache.enabled. Каждый контекст приложения получает собственный CacheManager,
+ * чтобы кэши разных баз данных не смешивались.
+ * Статистика регионов ведётся самим Caffeine и публикуется в метриках cache.gets, cache.puts, cache.evictions и
+ * cache.removals с тегом cache, равным имени региона; hibernate.generate_statistics для неё не нужно.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.cache.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        URI uri = URI.create("urn:shareit:entity-cache:" + UUID.randomUUID());
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, getClass().getClassLoader());
+        for (String region : new String[]{USERS, ITEMS, REQUESTS}) {
+            EntityCacheProperties.Region settings = properties.region(region);
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(settings.getMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(settings.getTimeToLive().toNanos()));
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            JCacheMetrics.monitor(meterRegistry, cache, "cache.manager", "entityCacheManager");
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
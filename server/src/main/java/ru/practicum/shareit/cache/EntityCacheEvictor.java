@@ -0,0 +1,43 @@
+package ru.practicum.shareit.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+/**
+ * Класс EntityCacheEvictor очищает регионы кэша второго уровня, строки которых база данных удаляет каскадно
+ * (ON DELETE CASCADE) без ведома Hibernate. Очистка выполняется после фиксации транзакции.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Метод evictUserDependents очищает кэш вещей и запросов после удаления пользователя: вместе с пользователем
+     * удаляются его вещи и запросы, а также вещи, созданные в ответ на эти запросы.
+     */
+    public void evictUserDependents() {
+        afterCommit(() -> {
+            entityManagerFactory.getCache().evict(Item.class);
+            entityManagerFactory.getCache().evict(ItemRequest.class);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
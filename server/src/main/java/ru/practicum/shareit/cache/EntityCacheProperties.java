@@ -0,0 +1,40 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Класс EntityCacheProperties содержит настройки регионов кэша второго уровня Hibernate
+ * (свойства shareit.cache.regions.<регион>.*). Регион, не указанный в настройках, получает значения по умолчанию.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.cache")
+public class EntityCacheProperties {
+    /**
+     * Настройки регионов по имени региона.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, new Region());
+    }
+
+    @Getter
+    @Setter
+    public static class Region {
+        /**
+         * Максимальное число сущностей в регионе.
+         */
+        private long maximumSize = 10_000;
+        /**
+         * Время жизни записи после её помещения в кэш.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+}
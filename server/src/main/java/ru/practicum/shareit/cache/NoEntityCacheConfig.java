@@ -0,0 +1,22 @@
+package ru.practicum.shareit.cache;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Класс NoEntityCacheConfig выключает кэш второго уровня Hibernate при shareit.cache.enabled=false. Hibernate
+ * включает этот кэш по умолчанию и сам находит JCache в classpath, поэтому без явного выключения сущности
+ * кэшировались бы и без {@link EntityCacheConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.cache.enabled", havingValue = "false")
+public class NoEntityCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer noEntityCacheHibernateProperties() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.etag;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Класс ETags строит слабые ETag для условных GET-запросов. Ответ с одинаковыми данными совпадает по смыслу, но не
+ * обязательно побайтно, поэтому ETag слабый.
+ */
+@UtilityClass
+public class ETags {
+    /**
+     * Метод of строит ETag по составляющим ответа: виду ресурса, пользователю и проекциям версий.
+     *
+     * @param parts — значения, от которых зависит ответ.
+     * @return слабый ETag вида W/"хэш".
+     */
+    public String of(Object... parts) {
+        String digest = DigestUtils.md5DigestAsHex(Arrays.toString(parts).getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + digest + "\"";
+    }
+}
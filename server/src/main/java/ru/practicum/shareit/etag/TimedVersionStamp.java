@@ -0,0 +1,18 @@
+package ru.practicum.shareit.etag;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция TimedVersionStamp дополняет {@link VersionStamp} для ответов, которые зависят от текущего времени, как
+ * последнее и следующее бронирование или списки бронирований по состояниям CURRENT, PAST и FUTURE. Поле nextChange —
+ * ближайший будущий момент, в который ответ может измениться без изменения данных; когда он наступает, запрос
+ * возвращает следующий такой момент, и ETag меняется.
+ */
+public interface TimedVersionStamp extends VersionStamp {
+    LocalDateTime getNextChange();
+
+    @Override
+    default String token() {
+        return VersionStamp.super.token() + ":" + getNextChange();
+    }
+}
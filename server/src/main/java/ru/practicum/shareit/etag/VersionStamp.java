@@ -0,0 +1,21 @@
+package ru.practicum.shareit.etag;
+
+/**
+ * Проекция VersionStamp описывает состояние набора строк одной таблицы без загрузки самих строк: число строк,
+ * наибольший идентификатор и сумму версий. Добавление строки меняет число строк или наибольший идентификатор,
+ * удаление — число строк, изменение — сумму версий, поэтому любое изменение набора меняет и проекцию.
+ */
+public interface VersionStamp {
+    Long getCount();
+
+    Long getMaxId();
+
+    Long getVersionSum();
+
+    /**
+     * Строковое представление проекции для вычисления ETag.
+     */
+    default String token() {
+        return getCount() + ":" + getMaxId() + ":" + getVersionSum();
+    }
+}
@@ -4,10 +4,12 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.List;
@@ -32,10 +34,24 @@ public class ItemController {
     @PostMapping
     public ItemDto createItem(@RequestHeader("X-Sharer-User-Id") long userId,
                               @Valid @RequestBody ItemDto itemDto) {
-        log.info("Получен запрос на создание вещи владельцем с id: {}", userId);
+        log.debug("Получен запрос на создание вещи владельцем с id: {}", userId);
         return itemService.createItem(userId, itemDto);
     }
 
+    /**
+     * Метод importItems сохраняет список вещей пользователя одним запросом.
+     *
+     * @param userId идентификатор пользователя, создающего вещи.
+     * @param items  вещи для сохранения.
+     * @return сохранённые вещи и ошибки отклонённых строк.
+     */
+    @PostMapping("/batch")
+    public ItemImportResultDto importItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                           @RequestBody List<ItemDto> items) {
+        log.debug("Получен запрос на загрузку {} вещей владельцем с id: {}", items.size(), userId);
+        return itemService.importItems(userId, items);
+    }
+
     /**
      * Метод addComment обрабатывает запросы на создание комментария к вещи.
      *
@@ -48,7 +64,7 @@ public class ItemController {
     public CommentDtoResponse addComment(@PathVariable("item-id") long itemId,
                                          @RequestHeader("X-Sharer-User-Id") long userId,
                                          @Valid @RequestBody CommentDtoRequest commentDtoRequest) {
-        log.info("Получен запрос на создание комментария");
+        log.debug("Получен запрос на создание комментария");
         return itemService.addComment(itemId, userId, commentDtoRequest);
     }
 
@@ -63,19 +79,25 @@ public class ItemController {
     @PatchMapping("/{id}")
     public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable Long id,
                               @RequestBody ItemDto itemDto) {
-        log.info("Получен запрос на обновление вещи c id: {}", id);
+        log.debug("Получен запрос на обновление вещи c id: {}", id);
         return itemService.updateItem(userId, id, itemDto);
     }
 
     /**
-     * Метод getItemDto получает вещь по ее идентификатору.
+     * Метод getItemDto получает вещь по ее идентификатору. Если ETag из заголовка If-None-Match совпадает с текущим,
+     * возвращается ответ 304 без построения тела.
      *
-     * @param id идентификатор вещи.
-     * @return вещь в формате DTO.
+     * @param id      идентификатор вещи.
+     * @param request текущий запрос для проверки условных заголовков.
+     * @return вещь в формате DTO или null, если ответ 304 уже сформирован.
      */
     @GetMapping("/{id}")
-    public ItemBookingDto getItemDto(@RequestHeader("X-Sharer-User-Id") Long ownerId, @PathVariable Long id) {
-        log.info("Получен запрос на получение вещи c id: {}", id);
+    public ItemBookingDto getItemDto(@RequestHeader("X-Sharer-User-Id") Long ownerId, @PathVariable Long id,
+                                     WebRequest request) {
+        log.debug("Получен запрос на получение вещи c id: {}", id);
+        if (request.checkNotModified(itemService.getItemETag(ownerId, id))) {
+            return null;
+        }
         return itemService.getItemDto(ownerId, id);
     }
 
@@ -83,23 +105,31 @@ public class ItemController {
      * Метод getOwnerItems возвращает все вещи, принадлежащие указанному владельцу.
      *
      * @param ownerId идентификатор владельца вещей.
+     * @param from    номер начальной позиции в списке результатов.
+     * @param size    количество вещей на странице.
      * @return список вещей в формате DTO, принадлежащих указанному владельцу.
      */
     @GetMapping
-    public List<ItemDto> getOwnerItems(@RequestHeader("X-Sharer-User-Id") long ownerId) {
-        log.info("Получен запрос на получение вещей владельца с id:{}", ownerId);
-        return itemService.getOwnerAllItems(ownerId);
+    public List<ItemBookingDto> getOwnerItems(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                              @RequestParam(defaultValue = "0") int from,
+                                              @RequestParam(defaultValue = "20") int size) {
+        log.debug("Получен запрос на получение вещей владельца с id:{}, from={}, size={}", ownerId, from, size);
+        return itemService.getOwnerAllItems(ownerId, from, size);
     }
 
     /**
      * Метод getItemsBySearch ищет вещи по заданному тексту.
      *
      * @param text текст для поиска.
+     * @param from номер начальной позиции в списке результатов.
+     * @param size количество вещей на странице.
      * @return список найденных вещей в формате DTO.
      */
     @GetMapping("/search")
-    public List<ItemDto> getItemsBySearch(@RequestParam String text) {
-        log.info("Получен запрос на поиск вещи по тексту");
-        return itemService.getItemsBySearch(text);
+    public List<ItemDto> getItemsBySearch(@RequestParam String text,
+                                          @RequestParam(defaultValue = "0") int from,
+                                          @RequestParam(defaultValue = "20") int size) {
+        log.debug("Получен запрос на поиск вещи по тексту, from={}, size={}", from, size);
+        return itemService.getItemsBySearch(text, from, size);
     }
 }
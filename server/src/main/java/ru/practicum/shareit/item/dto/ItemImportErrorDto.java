@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Класс ItemImportErrorDto описывает строку пакетной загрузки вещей, которая не была сохранена.
+ * Он содержит следующие поля:
+ * - index — номер строки в переданном списке, начиная с 0;
+ * - message — причина, по которой строка отклонена.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemImportErrorDto {
+    private int index;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Класс ItemImportResultDto представляет собой результат пакетной загрузки вещей.
+ * Он содержит следующие поля:
+ * - created — сохранённые вещи в порядке строк запроса;
+ * - errors — отклонённые строки с причинами.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemImportResultDto {
+    private List<ItemDto> created;
+    private List<ItemImportErrorDto> errors;
+}
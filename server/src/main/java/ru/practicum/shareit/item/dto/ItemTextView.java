@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Интерфейс ItemTextView представляет собой проекцию вещи, содержащую только поля, участвующие в поиске.
+ * Он содержит следующие поля:
+ * - id — уникальный идентификатор вещи;
+ * - name — название вещи;
+ * - description — описание вещи.
+ */
+public interface ItemTextView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+}
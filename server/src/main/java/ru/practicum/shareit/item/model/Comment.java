@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
  * - item — объект комментируемой вещи;
  * - author — объект автора комментария;
  * - created — дата и время создания комментария;
+ * - version — версия записи, увеличивается при каждом изменении.
  */
 @Getter
 @Setter
@@ -25,7 +26,8 @@ import java.time.LocalDateTime;
 @Table(name = "comments")
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
     @NotBlank
     private String text;
@@ -37,4 +39,6 @@ public class Comment {
     private User author;
     @Column(name = "created", nullable = false)
     private LocalDateTime created;
+    @Version
+    private Long version;
 }
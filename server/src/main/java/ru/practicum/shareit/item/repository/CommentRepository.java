@@ -2,6 +2,9 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.etag.VersionStamp;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
@@ -19,4 +22,14 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
      * @return список комментариев.
      */
     List<Comment> findByItemIn(List<Item> items, Sort created);
+
+    /**
+     * Метод findStampByItemId возвращает проекцию версий комментариев вещи для вычисления ETag.
+     *
+     * @param itemId — идентификатор вещи.
+     * @return число комментариев, наибольший идентификатор и сумма версий.
+     */
+    @Query("select count(c) as count, coalesce(max(c.id), 0L) as maxId, coalesce(sum(c.version), 0L) as versionSum " +
+            "from Comment c where c.item.id = :itemId")
+    VersionStamp findStampByItemId(@Param("itemId") long itemId);
 }
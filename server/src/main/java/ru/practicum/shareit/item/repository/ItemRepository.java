@@ -1,44 +1,100 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.etag.VersionStamp;
+import ru.practicum.shareit.item.dto.ItemForItemRequestResponseDto;
+import ru.practicum.shareit.item.dto.ItemTextView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Интерфейс ItemRepository расширяет JpaRepository и предоставляет методы для работы с вещами.
  */
 public interface ItemRepository extends JpaRepository<Item, Long> {
     /**
-     * Метод getItemsBySearch выполняет запрос к базе данных и возвращает список вещей Item, соответствующих
-     * поисковому запросу.
+     * Метод getItemsBySearch выполняет запрос к базе данных и возвращает страницу доступных вещей Item, в названии или
+     * описании которых встречается поисковый запрос. Вещи, совпавшие по названию, идут первыми. Символы % и _ в
+     * запросе экранируются и совпадают буквально. В PostgreSQL условие обслуживается триграммными GIN-индексами по lower(name) и lower(description).
      *
-     * @param text — строка с поисковым запросом.
+     * @param text     — строка с поисковым запросом.
+     * @param pageable — параметры страницы результатов.
      * @return список вещей Item.
      */
-    @Query("SELECT i FROM Item i WHERE i.available = true AND lower(i.name) LIKE lower(?1) OR lower(i.description) " +
-            "LIKE lower(?1)")
-    List<Item> getItemsBySearch(String text);
+    @Query("select i from Item i " +
+            "where i.available = true " +
+            "and (lower(i.name) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()} " +
+            "or lower(i.description) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()}) " +
+            "order by case when lower(i.name) like lower(concat('%', ?#{escape([0])}, '%')) " +
+            "escape ?#{escapeCharacter()} then 0 else 1 end, i.id")
+    List<Item> getItemsBySearch(String text, Pageable pageable);
 
     /**
-     * Метод findByOwnerId выполняет запрос к базе данных и возвращает список вещей Item, принадлежащих указанному
+     * Метод findByOwnerId выполняет запрос к базе данных и возвращает страницу вещей Item, принадлежащих указанному
      * владельцу.
      *
-     * @param ownerId — идентификатор владельца.
+     * @param ownerId  — идентификатор владельца.
+     * @param pageable — параметры страницы и сортировки.
      * @return список вещей Item.
      */
-    List<Item> findByOwnerId(Long ownerId);
+    List<Item> findByOwnerId(Long ownerId, Pageable pageable);
 
-    List<Item> findAllByRequestId(Long requestId);
+    /**
+     * Метод findByIdForUpdate загружает вещь с блокировкой строки до конца транзакции. Используется, чтобы проверки и
+     * изменения бронирований одной вещи выполнялись последовательно.
+     *
+     * @param id — идентификатор вещи.
+     * @return вещь Item, если она найдена.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    /**
+     * Метод findItemsForRequests одним запросом возвращает вещи, созданные в ответ на указанные запросы, сразу в виде
+     * DTO без загрузки сущностей.
+     *
+     * @param requestIds — идентификаторы запросов.
+     * @return список вещей ItemForItemRequestResponseDto.
+     */
+    @Query("select new ru.practicum.shareit.item.dto.ItemForItemRequestResponseDto(i.id, i.name, i.description, " +
+            "i.available, i.request.id) from Item i where i.request.id in ?1 order by i.id")
+    List<ItemForItemRequestResponseDto> findItemsForRequests(Collection<Long> requestIds);
 
-    List<Item>  findByRequestIdIn(List<Long> requestId);
+    /**
+     * Метод findSearchableItems возвращает порцию доступных вещей с идентификатором больше указанного в виде проекции
+     * с полями, необходимыми для построения поискового индекса.
+     *
+     * @param afterId  — идентификатор, после которого начинается порция.
+     * @param pageable — размер порции.
+     * @return список проекций вещей, упорядоченный по идентификатору.
+     */
+    @Query("select i.id as id, i.name as name, i.description as description from Item i " +
+            "where i.available = true and i.id > ?1 order by i.id")
+    List<ItemTextView> findSearchableItems(Long afterId, Pageable pageable);
 
     @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')) " +
+            "where (upper(i.name) like upper(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()} " +
+            "or upper(i.description) like upper(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()}) " +
             "and i.available = true ")
     Page<Item> findByNameOrDescription(String text, Pageable pageable);
+
+    /**
+     * Метод findRequestAnswersStamp возвращает проекцию версий вещей, созданных в ответ на запросы пользователя, для
+     * вычисления ETag списка его запросов.
+     *
+     * @param requestorId — идентификатор автора запросов.
+     * @return число вещей, наибольший идентификатор и сумма версий.
+     */
+    @Query("select count(i) as count, coalesce(max(i.id), 0L) as maxId, coalesce(sum(i.version), 0L) as versionSum " +
+            "from Item i where i.request.requestor.id = :requestorId")
+    VersionStamp findRequestAnswersStamp(@Param("requestorId") long requestorId);
 }
@@ -0,0 +1,253 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemTextView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Класс ItemSearchIndex — обратный индекс доступных вещей в памяти приложения: триграмма названия или описания
+ * отображается в отсортированный список идентификаторов вещей.
+ * Индекс включается свойством shareit.search.index.enabled, строится при старте приложения и обновляется
+ * после фиксации транзакций создания, изменения и удаления вещей.
+ * Правило совпадения то же, что в запросе ItemRepository.getItemsBySearch, к которому сервис обращается, пока
+ * индекс не готов: запрос без пробелов по краям и без учёта регистра должен входить в название или описание вещи
+ * как подстрока. Вещи, совпавшие по названию, идут первыми, внутри групп — по возрастанию идентификатора.
+ * Триграммы сужают перебор: текст, содержащий запрос, содержит и все его триграммы, поэтому подстрока проверяется
+ * только у вещей из пересечения списков триграмм запроса. Текст дополняется в конце двумя служебными символами, и
+ * каждая подстрока из одного-двух символов оказывается началом какой-либо триграммы текста: для коротких запросов
+ * объединяются списки триграмм с этим началом, число которых не зависит от числа вещей.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final String PADDING = "\u0000\u0000";
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final long[] EMPTY = new long[0];
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, PostingList> nameGrams = new TreeMap<>();
+    private final NavigableMap<String, PostingList> descriptionGrams = new TreeMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new HashMap<>();
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Метод build загружает доступные вещи из базы данных порциями и строит индекс.
+     * До окончания загрузки поиск выполняется через базу данных.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long lastId = 0;
+        int count = 0;
+        List<ItemTextView> batch;
+        do {
+            batch = itemRepository.findSearchableItems(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (ItemTextView item : batch) {
+                put(item.getId(), item.getName(), item.getDescription());
+                lastId = item.getId();
+            }
+            count += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        ready = true;
+        log.info("Поисковый индекс вещей построен, проиндексировано вещей: {}", count);
+    }
+
+    /**
+     * Метод isReady сообщает, можно ли выполнять поиск по индексу.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Метод index добавляет или обновляет вещь в индексе после фиксации текущей транзакции.
+     * Недоступные вещи из индекса удаляются.
+     *
+     * @param item сохранённая вещь.
+     */
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        afterCommit(() -> {
+            remove(id);
+            if (available) {
+                put(id, name, description);
+            }
+        });
+    }
+
+    /**
+     * Метод delete удаляет вещь из индекса после фиксации текущей транзакции.
+     *
+     * @param itemId идентификатор вещи.
+     */
+    public void delete(long itemId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> remove(itemId));
+    }
+
+    /**
+     * Метод search возвращает идентификаторы вещей, подходящих под поисковый запрос, в порядке релевантности.
+     *
+     * @param text текст поискового запроса.
+     * @return массив идентификаторов вещей.
+     */
+    public long[] search(String text) {
+        String query = text.trim().toLowerCase(Locale.ROOT);
+        if (query.isEmpty()) {
+            return EMPTY;
+        }
+        long[] inName;
+        long[] inDescription;
+        lock.readLock().lock();
+        try {
+            long[] candidates = PostingList.union(candidates(nameGrams, query), candidates(descriptionGrams, query));
+            inName = new long[candidates.length];
+            inDescription = new long[candidates.length];
+            int names = 0;
+            int descriptions = 0;
+            for (long id : candidates) {
+                IndexedItem item = indexedItems.get(id);
+                if (item.name().contains(query)) {
+                    inName[names++] = id;
+                } else if (item.description().contains(query)) {
+                    inDescription[descriptions++] = id;
+                }
+            }
+            inName = Arrays.copyOf(inName, names);
+            inDescription = Arrays.copyOf(inDescription, descriptions);
+        } finally {
+            lock.readLock().unlock();
+        }
+        long[] result = Arrays.copyOf(inName, inName.length + inDescription.length);
+        System.arraycopy(inDescription, 0, result, inName.length, inDescription.length);
+        return result;
+    }
+
+    /**
+     * Возвращает вещи, текст которых содержит все триграммы запроса, а для запроса короче триграммы — вещи, в тексте
+     * которых есть триграмма, начинающаяся с запроса.
+     */
+    private long[] candidates(NavigableMap<String, PostingList> textGrams, String query) {
+        if (query.length() < GRAM_LENGTH) {
+            long[] result = EMPTY;
+            for (PostingList postings : textGrams.subMap(query, query + Character.MAX_VALUE).values()) {
+                result = PostingList.union(result, postings.toArray());
+            }
+            return result;
+        }
+        List<PostingList> postings = new ArrayList<>();
+        for (String gram : grams(query, "")) {
+            PostingList gramPostings = textGrams.get(gram);
+            if (gramPostings == null) {
+                return EMPTY;
+            }
+            postings.add(gramPostings);
+        }
+        postings.sort(Comparator.comparingInt(PostingList::size));
+        long[] result = postings.get(0).toArray();
+        for (int i = 1; i < postings.size() && result.length > 0; i++) {
+            result = PostingList.intersect(result, postings.get(i).toArray());
+        }
+        return result;
+    }
+
+    private void put(long id, String name, String description) {
+        IndexedItem indexedItem = new IndexedItem(lower(name), lower(description));
+        lock.writeLock().lock();
+        try {
+            indexedItems.put(id, indexedItem);
+            grams(indexedItem.name(), PADDING).forEach(gram ->
+                    nameGrams.computeIfAbsent(gram, g -> new PostingList()).add(id));
+            grams(indexedItem.description(), PADDING).forEach(gram ->
+                    descriptionGrams.computeIfAbsent(gram, g -> new PostingList()).add(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem indexedItem = indexedItems.remove(id);
+            if (indexedItem != null) {
+                grams(indexedItem.name(), PADDING).forEach(gram -> removePosting(nameGrams, gram, id));
+                grams(indexedItem.description(), PADDING).forEach(gram -> removePosting(descriptionGrams, gram, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removePosting(Map<String, PostingList> grams, String gram, long id) {
+        PostingList postings = grams.get(gram);
+        if (postings != null) {
+            postings.remove(id);
+            if (postings.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text, String padding) {
+        String padded = text + padding;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Название и описание вещи в нижнем регистре.
+     */
+    private record IndexedItem(String name, String description) {
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Класс PostingList хранит отсортированный по возрастанию список идентификаторов вещей в примитивном массиве long[].
+ * Класс не потокобезопасен, синхронизацию обеспечивает {@link ItemSearchIndex}.
+ */
+class PostingList {
+    private static final long[] EMPTY = new long[0];
+    private long[] ids = new long[4];
+    private int size;
+
+    /**
+     * Метод add добавляет идентификатор в список, сохраняя порядок. Повторное добавление игнорируется.
+     *
+     * @param id идентификатор вещи.
+     */
+    void add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    /**
+     * Метод remove удаляет идентификатор из списка.
+     *
+     * @param id идентификатор вещи.
+     */
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Метод union объединяет два отсортированных массива идентификаторов без повторов.
+     */
+    static long[] union(long[] left, long[] right) {
+        if (left.length == 0) {
+            return right;
+        }
+        if (right.length == 0) {
+            return left;
+        }
+        long[] result = new long[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                result[k++] = left[i++];
+            } else if (left[i] > right[j]) {
+                result[k++] = right[j++];
+            } else {
+                result[k++] = left[i++];
+                j++;
+            }
+        }
+        while (i < left.length) {
+            result[k++] = left[i++];
+        }
+        while (j < right.length) {
+            result[k++] = right[j++];
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    /**
+     * Метод intersect возвращает идентификаторы, присутствующие в обоих отсортированных массивах.
+     */
+    static long[] intersect(long[] left, long[] right) {
+        if (left.length == 0 || right.length == 0) {
+            return EMPTY;
+        }
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[k++] = left[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
@@ -4,6 +4,7 @@ import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 
 import java.util.List;
 
@@ -11,6 +12,11 @@ import java.util.List;
  * Интерфейс ItemService для работы с вещами (items).
  */
 public interface ItemService {
+    /**
+     * Наибольшее количество вещей в одном запросе пакетной загрузки.
+     */
+    int MAX_IMPORT_SIZE = 10_000;
+
     /**
      * Метод createItem создаёт новую вещь для указанного пользователя.
      *
@@ -20,6 +26,16 @@ public interface ItemService {
      */
     ItemDto createItem(Long userId, ItemDto newItemDto);
 
+    /**
+     * Метод importItems сохраняет вещи пользователя одной транзакцией с пакетной вставкой в базу данных. Строки с
+     * ошибками пропускаются и перечисляются в результате, остальные строки сохраняются.
+     *
+     * @param userId идентификатор пользователя, создающего вещи.
+     * @param items  вещи для сохранения, не более MAX_IMPORT_SIZE.
+     * @return сохранённые вещи и ошибки отклонённых строк.
+     */
+    ItemImportResultDto importItems(long userId, List<ItemDto> items);
+
     /**
      * Метод updateItem обновляет существующую вещь.
      *
@@ -39,6 +55,16 @@ public interface ItemService {
 
     ItemBookingDto getItemDto(Long ownerId, Long id);
 
+    /**
+     * Метод getItemETag вычисляет ETag ответа getItemDto без построения самого ответа: по версии вещи, версиям её
+     * комментариев и, если вещь запрашивает владелец, версиям её бронирований.
+     *
+     * @param userId идентификатор пользователя, запрашивающего вещь.
+     * @param itemId идентификатор вещи.
+     * @return ETag или null, если вещь не найдена.
+     */
+    String getItemETag(long userId, long itemId);
+
     /**
      * Метод deleteItem удаляет вещь по ее идентификатору.
      *
@@ -47,20 +73,25 @@ public interface ItemService {
     void deleteItem(Long id);
 
     /**
-     * Метод getOwnerAllItems возвращает все вещи, принадлежащие указанному владельцу.
+     * Метод getOwnerAllItems возвращает страницу вещей владельца с последним и следующим бронированием и
+     * комментариями.
      *
      * @param ownerId идентификатор владельца вещей.
+     * @param from    номер начальной позиции в списке результатов.
+     * @param size    количество вещей на странице.
      * @return список вещей в формате DTO, принадлежащих указанному владельцу.
      */
-    List<ItemDto> getOwnerAllItems(Long ownerId);
+    List<ItemBookingDto> getOwnerAllItems(Long ownerId, int from, int size);
 
     /**
-     * Метод getItemsBySearch ищет вещь по заданному тексту.
+     * Метод getItemsBySearch ищет доступные вещи по заданному тексту. Вещи, совпавшие по названию, идут первыми.
      *
      * @param text текст для поиска.
+     * @param from номер начальной позиции в списке результатов.
+     * @param size количество вещей на странице.
      * @return список найденных вещей в формате DTO.
      */
-    List<ItemDto> getItemsBySearch(String text);
+    List<ItemDto> getItemsBySearch(String text, int from, int size);
 
     /**
      * Метод addComment добавляет комментарий для вещи.
@@ -1,18 +1,25 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.error.exception.BadRequestException;
 import ru.practicum.shareit.error.exception.NotFoundException;
 import ru.practicum.shareit.error.exception.ValidationException;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -20,15 +27,23 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserGuard;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.groupingBy;
@@ -40,13 +55,23 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
  */
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @AllArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    /**
+     * Размер порции пакетной загрузки вещей, совпадает с hibernate.jdbc.batch_size.
+     */
+    private static final int IMPORT_BATCH_SIZE = 50;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final UserGuard userGuard;
+    private final EntityManager entityManager;
 
     @Transactional
     @Override
@@ -59,12 +84,58 @@ public class ItemServiceImpl implements ItemService {
             requester = itemRequestRepository.findById(itemDtoRequest.getRequestId()).orElseThrow(() ->
                     new NotFoundException("Запрос не найден"));
             item.setRequest(requester);
-            requester.setItems(List.of(item));
         }
         Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
         return ItemMapper.toItemDto(savedItem);
     }
 
+    /**
+     * Вещи сохраняются порциями по IMPORT_BATCH_SIZE: каждая порция отправляется в базу данных одним пакетом JDBC,
+     * после чего контекст персистентности очищается. Идентификаторы выдаются последовательностью блоками, поэтому
+     * вставки не требуют отдельных обращений к базе данных. Сохранённые вещи не помещаются в кэш второго уровня.
+     */
+    @Transactional
+    @Override
+    public ItemImportResultDto importItems(long userId, List<ItemDto> items) {
+        if (items.size() > MAX_IMPORT_SIZE) {
+            throw new BadRequestException("За один запрос можно загрузить не более " + MAX_IMPORT_SIZE + " вещей");
+        }
+        User owner = userGuard.reference(userId);
+        Set<Long> requestIds = items.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty() ? Set.of()
+                : itemRequestRepository.findExistingIds(requestIds);
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        List<ItemDto> created = new ArrayList<>(items.size());
+        List<ItemImportErrorDto> errors = new ArrayList<>();
+        List<Item> pending = new ArrayList<>(IMPORT_BATCH_SIZE);
+        for (int i = 0; i < items.size(); i++) {
+            ItemDto itemDto = items.get(i);
+            String error = validateImportedItem(itemDto, existingRequestIds);
+            if (error != null) {
+                errors.add(new ItemImportErrorDto(i, error));
+                continue;
+            }
+            Item item = ItemMapper.toItem(itemDto, owner);
+            // Идентификатор всегда выдаёт последовательность, переданный в строке игнорируется.
+            item.setId(null);
+            if (itemDto.getRequestId() != null) {
+                item.setRequest(itemRequestRepository.getReferenceById(itemDto.getRequestId()));
+            }
+            entityManager.persist(item);
+            pending.add(item);
+            if (pending.size() == IMPORT_BATCH_SIZE) {
+                flushImported(pending, created);
+            }
+        }
+        flushImported(pending, created);
+        log.info("Загружено вещей: {}, отклонено строк: {}", created.size(), errors.size());
+        return new ItemImportResultDto(created, errors);
+    }
+
     @Transactional
     @Override
     public ItemDto updateItem(Long userId, Long itemId, ItemDto updatedItemDto) {
@@ -74,7 +145,9 @@ public class ItemServiceImpl implements ItemService {
         if (userId != ownerId) {
             throw new ValidationException("У пользователя нет доступа к вещи");
         }
-        return ItemMapper.toItemDto(updateItemFields(oldItem, updatedItemDto));
+        Item updatedItem = updateItemFields(oldItem, updatedItemDto);
+        itemSearchIndex.index(updatedItem);
+        return ItemMapper.toItemDto(updatedItem);
     }
 
     @Transactional(readOnly = true)
@@ -85,28 +158,47 @@ public class ItemServiceImpl implements ItemService {
         return fillBookingInfo(List.of(item), ownerId).get(0);
     }
 
+    /**
+     * Вещь читается через findById, который в рабочем режиме обслуживается кэшем второго уровня без обращения к базе
+     * данных; комментарии и бронирования описываются агрегирующими запросами без загрузки строк.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public String getItemETag(long userId, long itemId) {
+        return itemRepository.findById(itemId)
+                .map(item -> ETags.of("item", itemId, userId, item.getVersion(),
+                        commentRepository.findStampByItemId(itemId).token(),
+                        item.getOwner().getId() == userId
+                                ? bookingRepository.findItemStamp(itemId, LocalDateTime.now()).token() : null))
+                .orElse(null);
+    }
+
     @Transactional
     @Override
     public void deleteItem(Long id) {
         itemRepository.deleteById(id);
+        itemSearchIndex.delete(id);
+        itemAvailabilityIndex.evict(id);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<ItemDto> getOwnerAllItems(Long ownerId) {
-        List<Item> ownerItems = itemRepository.findByOwnerId(ownerId);
-        return ownerItems.stream()
-                .map(ItemMapper::toItemDto)
-                .toList();
+    public List<ItemBookingDto> getOwnerAllItems(Long ownerId, int from, int size) {
+        List<Item> ownerItems = itemRepository.findByOwnerId(ownerId, PageRequest.of(from / size, size,
+                Sort.by("id")));
+        return fillBookingInfo(ownerItems, ownerId);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<ItemDto> getItemsBySearch(String text) {
-        if (text.isEmpty()) {
+    public List<ItemDto> getItemsBySearch(String text, int from, int size) {
+        if (text.isBlank()) {
             return Collections.emptyList();
         }
-        List<Item> searchedItems = itemRepository.getItemsBySearch(text);
+        if (itemSearchIndex.isReady()) {
+            return getItemsByIndex(text, from, size);
+        }
+        List<Item> searchedItems = itemRepository.getItemsBySearch(text.trim(), PageRequest.of(from / size, size));
         return searchedItems.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
     }
 
@@ -126,6 +218,80 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDtoResponse(commentRepository.save(comment));
     }
 
+    /**
+     * Метод validateImportedItem проверяет строку пакетной загрузки.
+     *
+     * @param itemDto            проверяемая вещь.
+     * @param existingRequestIds идентификаторы существующих запросов из всех строк загрузки.
+     * @return описание ошибок или null, если строка корректна.
+     */
+    private String validateImportedItem(ItemDto itemDto, Set<Long> existingRequestIds) {
+        if (itemDto == null) {
+            return "Пустая строка";
+        }
+        List<String> violations = new ArrayList<>();
+        if (itemDto.getAvailable() == null) {
+            violations.add("available: Поле не может быть null");
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            violations.add("description: Поле не может быть пустым");
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            violations.add("name: Поле не может быть пустым");
+        }
+        if (!violations.isEmpty()) {
+            return String.join("; ", violations);
+        }
+        if (itemDto.getRequestId() != null && !existingRequestIds.contains(itemDto.getRequestId())) {
+            return "Запрос с id " + itemDto.getRequestId() + " не найден";
+        }
+        return null;
+    }
+
+    /**
+     * Метод flushImported отправляет накопленные вставки в базу данных, добавляет вещи в поисковый индекс и в
+     * результат загрузки, после чего очищает контекст персистентности.
+     *
+     * @param pending сохраняемые вещи текущей порции.
+     * @param created сохранённые вещи в формате DTO.
+     */
+    private void flushImported(List<Item> pending, List<ItemDto> created) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        for (Item item : pending) {
+            itemSearchIndex.index(item);
+            created.add(ItemMapper.toItemDto(item));
+        }
+        entityManager.clear();
+        pending.clear();
+    }
+
+    /**
+     * Метод getItemsByIndex находит идентификаторы вещей в поисковом индексе и загружает из базы данных только вещи
+     * запрошенной страницы, сохраняя порядок релевантности.
+     *
+     * @param text текст для поиска.
+     * @param from номер начальной позиции в списке результатов.
+     * @param size количество вещей на странице.
+     * @return список найденных вещей в формате DTO.
+     */
+    private List<ItemDto> getItemsByIndex(String text, int from, int size) {
+        long[] ids = itemSearchIndex.search(text);
+        if (from >= ids.length) {
+            return Collections.emptyList();
+        }
+        List<Long> pageIds = Arrays.stream(ids, from, Math.min(ids.length, from + size)).boxed().toList();
+        Map<Long, Item> items = itemRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return pageIds.stream()
+                .map(items::get)
+                .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                .map(ItemMapper::toItemDto)
+                .toList();
+    }
+
     /**
      * Метод updateItemFields обновляет поля вещи Item на основе данных из объекта ItemDto.
      *
@@ -147,54 +313,61 @@ public class ItemServiceImpl implements ItemService {
     }
 
     /**
-     * Метод fillBookingInfo заполняет информацию о бронированиях и комментариях для списка вещей.
+     * Метод fillBookingInfo заполняет информацию о бронированиях и комментариях для списка вещей. Последнее и следующее
+     * бронирования выбираются из индекса занятости, если он включён, иначе одним запросом сразу для всех вещей списка.
      *
      * @param items  — список вещей, для которых будет заполнена информация.
      * @param userId — идентификатор пользователя, который выполняет запрос.
      * @return список объектов ItemBookingDto с информацией о бронировании и комментариях.
      */
     private List<ItemBookingDto> fillBookingInfo(List<Item> items, Long userId) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
         Map<Item, List<Comment>> comments = commentRepository.findByItemIn(
                         items, Sort.by(DESC, "created"))
                 .stream()
                 .collect(groupingBy(Comment::getItem, toList()));
-        Map<Item, List<Booking>> bookings = bookingRepository.findByItemInAndStatus(
-                        items, BookingStatus.APPROVED, Sort.by(DESC, "start"))
-                .stream()
-                .collect(groupingBy(Booking::getItem, toList()));
+        List<Long> ownItemIds = items.stream()
+                .filter(item -> item.getOwner().getId().longValue() == userId.longValue())
+                .map(Item::getId)
+                .toList();
         LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingItemDto> lastBookings = new HashMap<>();
+        Map<Long, BookingItemDto> nextBookings = new HashMap<>();
+        if (!ownItemIds.isEmpty() && itemAvailabilityIndex.isEnabled()) {
+            itemAvailabilityIndex.findLastAndNext(ownItemIds, now).forEach((itemId, bookings) -> {
+                lastBookings.put(itemId, bookings.last());
+                nextBookings.put(itemId, bookings.next());
+            });
+        } else if (!ownItemIds.isEmpty()) {
+            for (BookingShortView booking : bookingRepository.findLastAndNextBookings(ownItemIds, now)) {
+                Map<Long, BookingItemDto> target = booking.getStartDate().isAfter(now) ? nextBookings : lastBookings;
+                target.put(booking.getItemId(), BookingMapper.toItemBookingInfoDto(booking));
+            }
+        }
         return items.stream().map(item -> addBookingAndComment(item, userId, comments.getOrDefault(item, List.of()),
-                        bookings.getOrDefault(item, List.of()), now))
+                        lastBookings.get(item.getId()), nextBookings.get(item.getId())))
                 .collect(toList());
     }
 
     /**
      * Метод для добавления бронирования и комментария к вещи.
      *
-     * @param item     — вещь, к которой добавляется бронирование и комментарий.
-     * @param userId   — идентификатор пользователя, который выполняет бронирование.
-     * @param comments — список комментариев, которые будут добавлены к бронированию.
-     * @param bookings — список существующих бронирований вещи.
-     * @param now      — текущая дата и время, используемые для создания записи о бронировании.
-     * @return результат добавления бронирования и комментариев.
+     * @param item        — вещь, к которой добавляется бронирование и комментарий.
+     * @param userId      — идентификатор пользователя, который выполняет запрос.
+     * @param comments    — список комментариев к вещи.
+     * @param lastBooking — последнее начавшееся бронирование вещи или null.
+     * @param nextBooking — ближайшее будущее бронирование вещи или null.
+     * @return вещь с информацией о бронированиях и комментариях; бронирования видны только владельцу.
      */
     public ItemBookingDto addBookingAndComment(Item item, Long userId, List<Comment> comments,
-                                               List<Booking> bookings, LocalDateTime now) {
+                                               BookingItemDto lastBooking, BookingItemDto nextBooking) {
         if (item.getOwner().getId().longValue() != userId.longValue()) {
             return ItemMapper.toItemForBookingMapper(item, null, null,
                     CommentMapper.commentDtoList(comments));
         }
-        Booking lastBooking = bookings.stream()
-                .filter(b -> !b.getStart().isAfter(now))
-                .findFirst()
-                .orElse(null);
-        Booking nextBooking = bookings.stream()
-                .filter(b -> b.getStart().isAfter(now))
-                .reduce((a, b) -> a.getStart().isBefore(b.getStart()) ? a : b)
-                .orElse(null);
-        BookingItemDto lastBookingDto = lastBooking != null ? BookingMapper.toItemBookingInfoDto(lastBooking) : null;
-        BookingItemDto nextBookingDto = nextBooking != null ? BookingMapper.toItemBookingInfoDto(nextBooking) : null;
-        return ItemMapper.toItemForBookingMapper(item, lastBookingDto, nextBookingDto,
+        return ItemMapper.toItemForBookingMapper(item, lastBooking, nextBooking,
                 CommentMapper.commentDtoList(comments));
     }
 }
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.metrics;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Класс AsyncLogMetrics публикует заполненность очереди асинхронного логирования из logback-spring.xml в метриках
+ * logging.async.queue.size и logging.async.queue.remaining. Если очередь близка к заполнению, часть событий
+ * отбрасывается. В профиле dev асинхронного аппендера нет, и метрики не публикуются.
+ * Копия класса есть в модуле shareit-gateway (ru.practicum.shareit.logging.AsyncLogMetrics).
+ * Обе копии должны оставаться одинаковыми, кроме пакета: изменение одной нужно повторить в другой.
+ */
+@Component
+public class AsyncLogMetrics implements MeterBinder {
+    static final String APPENDER_NAME = "ASYNC";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)
+                || !(context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(APPENDER_NAME)
+                instanceof AsyncAppender appender)) {
+            return;
+        }
+        Gauge.builder("logging.async.queue.size", appender, AsyncAppender::getNumberOfElementsInQueue)
+                .description("Число событий в очереди асинхронного логирования")
+                .register(registry);
+        Gauge.builder("logging.async.queue.remaining", appender, AsyncAppender::getRemainingCapacity)
+                .description("Свободные места в очереди асинхронного логирования")
+                .register(registry);
+    }
+}
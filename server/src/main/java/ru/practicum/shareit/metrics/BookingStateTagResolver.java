@@ -0,0 +1,20 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.common.annotation.ValueResolver;
+import ru.practicum.shareit.booking.model.StateTypes;
+
+/**
+ * Значение тега state для метрик списков бронирований. Параметр приходит от клиента как есть, поэтому
+ * неизвестные значения сводятся к UNKNOWN, чтобы число временных рядов оставалось ограниченным.
+ */
+public class BookingStateTagResolver implements ValueResolver {
+    @Override
+    public String resolve(Object parameter) {
+        for (StateTypes state : StateTypes.values()) {
+            if (state.name().equalsIgnoreCase(String.valueOf(parameter))) {
+                return state.name();
+            }
+        }
+        return "UNKNOWN";
+    }
+}
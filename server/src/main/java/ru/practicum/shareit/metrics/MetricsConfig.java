@@ -0,0 +1,63 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.common.annotation.ValueExpressionResolver;
+import io.micrometer.core.aop.MeterTagAnnotationHandler;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+
+/**
+ * Класс MetricsConfig подключает метрики сервера, которые публикуются на /actuator/prometheus:
+ * - shareit.service — время методов сервисов, отмеченных {@link io.micrometer.core.annotation.Timed};
+ * - shareit.http.sql.statements — число SQL-запросов на один HTTP-запрос, см. {@link SqlStatementMetricsFilter};
+ * - shareit.transaction — длительность транзакций, см. {@link TransactionMetricsListener};
+ * - logging.async.queue.* — заполненность очереди асинхронного логирования, см. компонент {@link AsyncLogMetrics}.
+ * Время HTTP-запросов публикует сам Spring Boot в метрике http.server.requests.
+ */
+@Configuration
+public class MetricsConfig {
+    private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+    /**
+     * Вычисляет выражения SpEL в {@link io.micrometer.core.aop.MeterTag#expression()} над параметром метода, как
+     * это делает Spring Boot для трассировки. Доступно только чтение свойств параметра.
+     */
+    private static final ValueExpressionResolver SPEL_EXPRESSIONS = (expression, parameter) -> {
+        SimpleEvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding().build();
+        return String.valueOf(EXPRESSION_PARSER.parseExpression(expression).getValue(context, parameter));
+    };
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        TimedAspect timedAspect = new TimedAspect(meterRegistry);
+        timedAspect.setMeterTagAnnotationHandler(new MeterTagAnnotationHandler(
+                BeanUtils::instantiateClass, resolverClass -> SPEL_EXPRESSIONS));
+        return timedAspect;
+    }
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterHibernateProperties(SqlStatementCounter counter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public SqlStatementMetricsFilter sqlStatementMetricsFilter(SqlStatementCounter counter,
+                                                               MeterRegistry meterRegistry) {
+        return new SqlStatementMetricsFilter(counter, meterRegistry);
+    }
+
+    @Bean
+    public TransactionMetricsListener transactionMetricsListener(MeterRegistry meterRegistry) {
+        return new TransactionMetricsListener(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Класс SqlStatementCounter считает SQL-запросы, которые Hibernate подготавливает в текущем потоке. Счёт ведётся
+ * только между {@link #start()} и {@link #stop()}, вне этого интервала запросы не учитываются.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<long[]> counter = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = counter.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Начинает счёт запросов в текущем потоке.
+     */
+    public void start() {
+        counter.set(new long[1]);
+    }
+
+    /**
+     * Заканчивает счёт запросов в текущем потоке.
+     *
+     * @return число запросов с момента вызова {@link #start()}.
+     */
+    public long stop() {
+        long[] count = counter.get();
+        counter.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Класс TransactionMetricsListener записывает в метрику shareit.transaction длительность каждой транзакции от начала
+ * до фиксации или отката. Метрика размечена именем транзакции (класс и метод сервиса) и исходом: commit,
+ * commit_failed или rollback. Spring Boot регистрирует слушателя в менеджере транзакций автоматически.
+ */
+public class TransactionMetricsListener implements TransactionExecutionListener {
+    private final MeterRegistry meterRegistry;
+    private final Map<TransactionExecution, Timer.Sample> samples = new ConcurrentHashMap<>();
+
+    public TransactionMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure == null) {
+            samples.put(transaction, Timer.start(meterRegistry));
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        record(transaction, commitFailure == null ? "commit" : "commit_failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+        record(transaction, "rollback");
+    }
+
+    private void record(TransactionExecution transaction, String outcome) {
+        Timer.Sample sample = samples.remove(transaction);
+        if (sample == null) {
+            return;
+        }
+        sample.stop(Timer.builder("shareit.transaction")
+                .description("Длительность транзакции")
+                .tag("name", transaction.getTransactionName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
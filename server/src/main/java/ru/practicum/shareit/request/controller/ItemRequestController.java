@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -29,7 +30,7 @@ public class ItemRequestController {
     @PostMapping
     public ItemRequestResponseDto addItemRequest(@RequestHeader(userHeader) long userId,
                                                  @RequestBody ItemRequestDto itemRequestDto) {
-        log.info("POST запрос на создание запроса вещи");
+        log.debug("POST запрос на создание запроса вещи");
         return service.addItemRequest(userId, itemRequestDto);
     }
 
@@ -37,11 +38,16 @@ public class ItemRequestController {
      * Метод getItemRequestsByUserId обрабатывает GET-запросы и предназначен для получения всех запросов на вещи,
      * созданных пользователем с указанным идентификатором.
      *
-     * @param userId идентификатор пользователя, содержащийся в заголовке запроса.
+     * @param userId  идентификатор пользователя, содержащийся в заголовке запроса.
+     * @param request текущий запрос для проверки заголовка If-None-Match.
      */
     @GetMapping
-    public List<ItemRequestResponseDto> getItemRequestsByUserId(@RequestHeader(userHeader) long userId) {
-        log.info("GET запрос на получение всех созданных запросов вещей пользователя с ID {}", userId);
+    public List<ItemRequestResponseDto> getItemRequestsByUserId(@RequestHeader(userHeader) long userId,
+                                                                WebRequest request) {
+        log.debug("GET запрос на получение всех созданных запросов вещей пользователя с ID {}", userId);
+        if (request.checkNotModified(service.getItemRequestsETag(userId))) {
+            return null;
+        }
         return service.getItemRequestsByUserId(userId);
     }
 
@@ -57,7 +63,7 @@ public class ItemRequestController {
             @RequestHeader(userHeader) long userId,
             @RequestParam(name = "from", defaultValue = "0") int from,
             @RequestParam(name = "size", defaultValue = "20") int size) {
-        log.info("GET запрос на получение всех запросов созданных другими пользователями");
+        log.debug("GET запрос на получение всех запросов созданных другими пользователями");
         return service.getAllItemRequests(userId, from, size);
     }
 
@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request.mapper;
 
 import lombok.experimental.UtilityClass;
-import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemForItemRequestResponseDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -10,6 +10,7 @@ import ru.practicum.shareit.user.dto.UserForItemRequestDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 
@@ -24,24 +25,22 @@ public class ItemRequestDtoMapper {
         return itemRequest;
     }
 
-    public ItemRequestResponseDto toItemRequestResponseDto(ItemRequest itemRequest) {
-        ItemRequestResponseDto itemRequestResponseDto = ItemRequestResponseDto.builder()
+    public ItemRequestResponseDto toItemRequestResponseDto(ItemRequest itemRequest,
+                                                           List<ItemForItemRequestResponseDto> items) {
+        return ItemRequestResponseDto.builder()
                 .id(itemRequest.getId())
                 .description(itemRequest.getDescription())
                 .requestor(new UserForItemRequestDto(itemRequest.getRequestor().getId(),
                         itemRequest.getRequestor().getName()))
                 .created(itemRequest.getCreated())
-                .items(List.of())
+                .items(items)
                 .build();
-        if (!itemRequest.getItems().isEmpty()) {
-            itemRequestResponseDto.setItems(ItemMapper.toItemForItemRequestsResponseDto(itemRequest.getItems()));
-        }
-        return itemRequestResponseDto;
     }
 
-    public List<ItemRequestResponseDto> toItemRequestsResponseDto(List<ItemRequest> itemRequest) {
+    public List<ItemRequestResponseDto> toItemRequestsResponseDto(List<ItemRequest> itemRequest,
+                                                                  Map<Long, List<ItemForItemRequestResponseDto>> items) {
         return itemRequest.stream()
-                .map(ItemRequestDtoMapper::toItemRequestResponseDto)
+                .map(request -> toItemRequestResponseDto(request, items.getOrDefault(request.getId(), List.of())))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
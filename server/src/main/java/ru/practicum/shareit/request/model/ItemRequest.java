@@ -5,11 +5,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.item.model.Item;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.cache.EntityCacheConfig;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Класс ItemRequest для хранения данных запроса на создание, обновление или поиск вещи.
@@ -18,8 +19,11 @@ import java.util.List;
  *  — description — описание запроса;
  *  — requestor — пользователь, запрашивающий вещь;
  *  — created — дата и время создания запроса;
+ *  — version — версия записи, увеличивается при каждом изменении.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.REQUESTS)
 @Table(name = "requests")
 @Data
 @AllArgsConstructor
@@ -27,12 +31,13 @@ import java.util.List;
 @Builder
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Long id;
     private String description;
     @ManyToOne
     private User requestor;
     private LocalDateTime created;
-    @OneToMany(mappedBy = "id", fetch = FetchType.EAGER)
-    private List<Item> items;
+    @Version
+    private Long version;
 }
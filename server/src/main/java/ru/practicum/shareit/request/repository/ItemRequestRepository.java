@@ -1,14 +1,53 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.etag.VersionStamp;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    Page<ItemRequest> findAllByRequestorIdIsNot(Long userId, Pageable pageable);
+    /**
+     * Метод возвращает страницу чужих запросов вместе с их авторами одним запросом.
+     *
+     * @param userId   — идентификатор пользователя, запросы которого нужно исключить.
+     * @param pageable — параметры страницы и сортировки.
+     * @return список запросов других пользователей.
+     */
+    @EntityGraph(attributePaths = "requestor")
+    List<ItemRequest> findAllByRequestorIdIsNot(Long userId, Pageable pageable);
 
+    /**
+     * Метод возвращает запросы пользователя вместе с автором одним запросом.
+     *
+     * @param userId — идентификатор автора запросов.
+     * @return список запросов пользователя.
+     */
+    @EntityGraph(attributePaths = "requestor")
     List<ItemRequest> findByRequestorId(Long userId);
+
+    /**
+     * Метод проверяет одним запросом, какие из указанных запросов существуют.
+     *
+     * @param ids — идентификаторы проверяемых запросов.
+     * @return идентификаторы существующих запросов.
+     */
+    @Query("select r.id from ItemRequest r where r.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Метод возвращает проекцию версий запросов пользователя для вычисления ETag списка его запросов.
+     *
+     * @param requestorId — идентификатор автора запросов.
+     * @return число запросов, наибольший идентификатор и сумма версий.
+     */
+    @Query("select count(r) as count, coalesce(max(r.id), 0L) as maxId, coalesce(sum(r.version), 0L) as versionSum " +
+            "from ItemRequest r where r.requestor.id = :requestorId")
+    VersionStamp findStampByRequestorId(@Param("requestorId") long requestorId);
 }
@@ -19,6 +19,13 @@ public interface ItemRequestService {
      */
     List<ItemRequestResponseDto> getItemRequestsByUserId(long userId);
 
+    /**
+     * Метод вычисляет ETag ответа getItemRequestsByUserId по версиям запросов пользователя и вещей, созданных в ответ
+     * на них, без загрузки самих запросов.
+     * @param userId уникальный идентификатор автора запросов.
+     */
+    String getItemRequestsETag(long userId);
+
     /**
      * Метод получает информации обо всех запросах на добавление элементов (item requests) из системы
      * @param userId уникальный идентификатор пользователя, чьи запросы необходимо получить.
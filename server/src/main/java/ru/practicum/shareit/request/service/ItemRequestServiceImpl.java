@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.service;
 
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -8,7 +9,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.error.exception.NotFoundException;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.item.dto.ItemForItemRequestResponseDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -17,97 +19,80 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserGuard;
 
-import java.util.*;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserGuard userGuard;
 
     @Transactional
     @Override
     public ItemRequestResponseDto addItemRequest(long userId, ItemRequestDto itemRequestDto) {
-        User user = checkUser(userId);
+        User user = userRepository.findById(userId).orElseThrow(() ->
+                new NotFoundException("Пользователь с id " + userId + " не найден"));
         ItemRequest itemRequest = ItemRequestDtoMapper.toItemRequest(itemRequestDto, user);
         ItemRequest addRequests = requestRepository.save(itemRequest);
-        List<Item> items = itemRepository.findAllByRequestId(addRequests.getId());
-        addRequests.setItems(items);
-        return ItemRequestDtoMapper.toItemRequestResponseDto(addRequests);
+        return toResponses(List.of(addRequests)).getFirst();
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<ItemRequestResponseDto> getItemRequestsByUserId(long userId) {
-        checkUser(userId);
-        List<ItemRequest> itemRequests = requestRepository.findByRequestorId(userId);
-        for (ItemRequest itemRequest : itemRequests) {
-            List<Item> items = itemRepository.findAllByRequestId(itemRequest.getId());
-            itemRequest.setItems(items);
-        }
-        return ItemRequestDtoMapper.toItemRequestsResponseDto(itemRequests);
+        userGuard.checkExists(userId);
+        return toResponses(requestRepository.findByRequestorId(userId));
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public String getItemRequestsETag(long userId) {
+        return ETags.of("requests", userId, requestRepository.findStampByRequestorId(userId).token(),
+                itemRepository.findRequestAnswersStamp(userId).token());
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public List<ItemRequestResponseDto> getAllItemRequests(long userId, int from, int size) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("Пользователь с ID " +
-                    userId + " не зарегистрирован!");
-        }
+        userGuard.checkExists(userId);
         Sort sort = Sort.by(Sort.Direction.DESC, "created");
         Pageable pageable = PageRequest.of(from / size, size, sort);
-        List<ItemRequest> itemRequests = requestRepository.findAllByRequestorIdIsNot(userId, pageable).getContent();
-        addItems(itemRequests);
-        return ItemRequestDtoMapper.toItemRequestsResponseDto(itemRequests);
+        return toResponses(requestRepository.findAllByRequestorIdIsNot(userId, pageable));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public ItemRequestResponseDto getItemRequest(long requestId, long userId) {
-        checkUser(userId);
+        userGuard.checkExists(userId);
         ItemRequest itemRequest = requestRepository.findById(requestId).orElseThrow(() ->
                 new NotFoundException("Запрос c ID " + requestId + " не найден"));
-        List<Item> items = itemRepository.findAllByRequestId(itemRequest.getId());
-        itemRequest.setItems(items);
-        return ItemRequestDtoMapper.toItemRequestResponseDto(itemRequest);
+        return toResponses(List.of(itemRequest)).getFirst();
     }
 
     /**
-     * Метод addItems принимает список itemRequests типа List<ItemRequest> и выполняет следующие действия:
-     * 1. Создаёт список requestId, содержащий идентификаторы запросов из списка itemRequests.
-     * 2. Создаёт пустую карту itemsByRequest типа Map<Long, List<Item>>, где ключ — это идентификатор запроса (Long),
-     * а значение — список элементов (List<Item>) для этого запроса.
-     * 3. Проходит по каждому элементу item типа Item из репозитория itemRepository, который соответствует одному из
-     * идентификаторов запросов в списке requestId. Для каждого такого элемента item метод computeIfAbsent добавляет
-     * новый список ArrayList<> в качестве значения на карте itemsByRequest, если ключа с таким идентификатором ещё нет.
-     * В противном случае метод просто возвращает существующее значение. Затем элемент item добавляется в этот список.
-     * 4. Перебирает каждый элемент itemRequest из списка itemRequests и устанавливает его свойство items, равное
-     * значению из карты itemsByRequest для соответствующего идентификатора запроса или пустому списку
-     * Collections.emptyList(), если такого ключа на карте нет.
-     */
-    private void addItems(List<ItemRequest> itemRequests) {
-        List<Long> requestId = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
-        Map<Long, List<Item>> itemsByRequest = new HashMap<>();
-        for (Item item : itemRepository.findByRequestIdIn(requestId)) {
-            itemsByRequest.computeIfAbsent(item.getRequest().getId(), k -> new ArrayList<>()).add(item);
-        }
-        itemRequests.forEach(itemRequest -> {
-            List<Item> items = itemsByRequest.getOrDefault(itemRequest.getId(), Collections.emptyList());
-            itemRequest.setItems(items);
-        });
-    }
-
-    /**
-     * Метод проверяет наличие пользователя по переданному идентификатору (userId) в репозитории userRepository.
+     * Метод toResponses собирает ответы для списка запросов: вещи всех запросов загружаются одним запросом к базе
+     * данных в виде DTO и группируются по идентификатору запроса, поэтому число запросов к базе не зависит от
+     * количества запросов в списке.
      *
-     * @param userId идентификатор проверяемого пользователя
+     * @param itemRequests — запросы, для которых нужно сформировать ответ.
+     * @return список ответов в том же порядке, что и itemRequests.
      */
-    private User checkUser(long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                new NotFoundException("Пользователь с id " +
-                        userId + " не найден"));
+    private List<ItemRequestResponseDto> toResponses(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<ItemForItemRequestResponseDto>> itemsByRequest = itemRepository.findItemsForRequests(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemForItemRequestResponseDto::getRequestId));
+        return ItemRequestDtoMapper.toItemRequestsResponseDto(itemRequests, itemsByRequest);
     }
 }
@@ -3,8 +3,12 @@ package ru.practicum.shareit.user.controller;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.filter.UserIdFilterSnapshot;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -26,7 +30,7 @@ public class UserController {
      */
     @PostMapping
     public UserDto createUser(@Valid @RequestBody UserDto newUser) {
-        log.info("Получен запрос на создание пользователя");
+        log.debug("Получен запрос на создание пользователя");
         return userService.createUser(newUser);
     }
 
@@ -39,7 +43,7 @@ public class UserController {
      */
     @PatchMapping("/{id}")
     public UserDto updateUser(@RequestBody UserDto userDto, @PathVariable Long id) {
-        log.info("Получен запрос на обновление данных пользователя");
+        log.debug("Получен запрос на обновление данных пользователя");
         return userService.updateUser(userDto, id);
     }
 
@@ -51,10 +55,32 @@ public class UserController {
      */
     @GetMapping("/{id}")
     public User getUser(@PathVariable Long id) {
-        log.info("Получен запрос на получение пользователя");
+        log.debug("Получен запрос на получение пользователя");
         return userService.getUserById(id);
     }
 
+    /**
+     * Метод getUserIdFilter возвращает фильтр Блума идентификаторов существующих пользователей, по которому шлюз
+     * отклоняет запросы несуществующих пользователей. Если фильтр не изменился с прошлого запроса шлюза, возвращается
+     * ответ 304; если фильтр выключен или ещё не построен — 204.
+     *
+     * @param request текущий запрос для проверки заголовка If-None-Match.
+     * @return фильтр в двоичном формате {@link ru.practicum.shareit.user.filter.UserIdFilter}.
+     */
+    @GetMapping("/id-filter")
+    public ResponseEntity<byte[]> getUserIdFilter(WebRequest request) {
+        UserIdFilterSnapshot snapshot = userService.getUserIdFilter();
+        if (snapshot == null) {
+            return ResponseEntity.noContent().build();
+        }
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(snapshot.content());
+    }
+
     /**
      * Метод deleteUser удаляет пользователя по его идентификатору.
      *
@@ -62,7 +88,7 @@ public class UserController {
      */
     @DeleteMapping("/{id}")
     public void deleteUser(@PathVariable Long id) {
-        log.info("Получен запрос на удаление пользователя");
+        log.debug("Получен запрос на удаление пользователя");
         userService.deleteUserById(id);
     }
 }
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.user.filter;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Класс BloomFilter — фильтр Блума для идентификаторов типа long. Метод mightContain никогда не отвечает false для
+ * добавленного идентификатора; для остальных он отвечает true с вероятностью, заданной при создании фильтра, пока
+ * число добавленных идентификаторов не превышает ожидаемого.
+ * Позиции битов вычисляются двойным хэшированием: i-я позиция равна (h1 + i * h2) по модулю числа битов, где h1 и h2 —
+ * функция перемешивания fmix64 из MurmurHash3 от идентификатора и от идентификатора, сложенного по исключающему ИЛИ
+ * с константой {@link #SEED}. Шлюз проверяет идентификаторы по той же схеме, поэтому её нельзя менять без изменения
+ * версии формата {@link UserIdFilter#FORMAT_VERSION}.
+ */
+final class BloomFilter {
+    static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    private BloomFilter(int words, int hashes) {
+        this.words = new AtomicLongArray(words);
+        this.bits = words * 64L;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Метод create создаёт фильтр на expected идентификаторов с долей ложноположительных ответов falsePositiveRate.
+     * Если для этого нужно больше maxBits битов, фильтр получает maxBits битов, и доля ложноположительных ответов
+     * выше заданной.
+     */
+    static BloomFilter create(long expected, double falsePositiveRate, long maxBits) {
+        double optimalBits = -expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long bits = Math.max(64, Math.min((long) Math.ceil(optimalBits), maxBits));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+        int hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round(words * 64.0 / expected * Math.log(2))));
+        return new BloomFilter(words, hashes);
+    }
+
+    void add(long id) {
+        long h1 = mix(id);
+        long h2 = mix(id ^ SEED);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(long id) {
+        long h1 = mix(id);
+        long h2 = mix(id ^ SEED);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int sizeInBytes() {
+        return words.length() * Long.BYTES;
+    }
+
+    /**
+     * Метод writeTo записывает число хэш-функций, число 64-битных слов и сами слова.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(hashes);
+        out.writeInt(words.length());
+        for (int i = 0; i < words.length(); i++) {
+            out.writeLong(words.get(i));
+        }
+    }
+
+    static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,252 @@
+package ru.practicum.shareit.user.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Класс UserIdFilter хранит в памяти фильтр Блума идентификаторов существующих пользователей, по которому шлюз
+ * отклоняет запросы с заведомо несуществующим X-Sharer-User-Id, не обращаясь к серверу.
+ * Фильтр включается свойством shareit.user-filter.enabled, строится при старте приложения и пополняется при создании
+ * пользователей. Удалённые пользователи остаются в фильтре и дают ложноположительные ответы; когда их становится
+ * больше четверти ёмкости или добавленных пользователей больше ёмкости, фильтр перестраивается по базе данных при
+ * следующем запросе шлюза. Доля ложноположительных ответов задаётся свойством shareit.user-filter.false-positive-rate,
+ * размер фильтра ограничен свойством shareit.user-filter.max-size.
+ * Вместе с фильтром публикуется coveredUpTo — наибольший идентификатор в фильтре. Пользователь создаётся под
+ * блокировкой чтения, а состояние фильтра сериализуется под блокировкой записи, поэтому все пользователи с
+ * идентификатором не больше coveredUpTo уже в фильтре, а созданные позже получают большие идентификаторы, и шлюз их
+ * не отклоняет. Это верно, пока идентификаторы пользователей выдаёт один экземпляр сервера.
+ * Формат (числа big-endian): int версия формата, long coveredUpTo, int число хэш-функций, int число 64-битных слов,
+ * затем слова; схема хэширования описана в {@link BloomFilter}.
+ */
+@Slf4j
+@Component
+public class UserIdFilter {
+    public static final int FORMAT_VERSION = 1;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final long MIN_CAPACITY = 1024;
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long maxBits;
+    private final String epoch = UUID.randomUUID().toString();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * Идентификаторы, добавленные в фильтр в ещё не завершённых транзакциях. Перестроение по базе данных их не видит,
+     * поэтому добавляет отдельно.
+     */
+    private final Set<Long> uncommitted = ConcurrentHashMap.newKeySet();
+    private final AtomicLong coveredUpTo = new AtomicLong();
+    private final AtomicLong added = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile BloomFilter filter;
+    private volatile long capacity;
+    private volatile UserIdFilterSnapshot snapshot;
+    private volatile long snapshotGeneration = -1;
+
+    public UserIdFilter(UserRepository userRepository,
+                        @Value("${shareit.user-filter.enabled:true}") boolean enabled,
+                        @Value("${shareit.user-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                        @Value("${shareit.user-filter.max-size:8MB}") DataSize maxSize) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBits = maxSize.toBytes() * Byte.SIZE;
+    }
+
+    /**
+     * Метод build строит фильтр по пользователям из базы данных. До окончания построения фильтр не публикуется.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Метод registerNew сохраняет нового пользователя и добавляет его идентификатор в фильтр.
+     *
+     * @param save сохранение пользователя, назначающее ему идентификатор.
+     * @return сохранённый пользователь.
+     */
+    public User registerNew(Supplier<User> save) {
+        if (!enabled) {
+            return save.get();
+        }
+        lock.readLock().lock();
+        try {
+            User user = save.get();
+            put(user.getId());
+            return user;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Метод delete учитывает удаление пользователя. Идентификатор остаётся в фильтре до перестроения.
+     */
+    public void delete(long userId) {
+        if (enabled) {
+            deleted.incrementAndGet();
+        }
+    }
+
+    /**
+     * Метод snapshot возвращает сериализованный фильтр. Сериализация выполняется заново, только если фильтр изменился
+     * с прошлого вызова.
+     *
+     * @return состояние фильтра или null, если фильтр выключен или ещё не построен.
+     */
+    public UserIdFilterSnapshot snapshot() {
+        if (!enabled || filter == null) {
+            return null;
+        }
+        UserIdFilterSnapshot current = snapshot;
+        if (current != null && snapshotGeneration == generation.get() && !needsRebuild()) {
+            return current;
+        }
+        lock.writeLock().lock();
+        try {
+            if (needsRebuild()) {
+                rebuild();
+            }
+            long currentGeneration = generation.get();
+            if (snapshot == null || snapshotGeneration != currentGeneration) {
+                snapshot = new UserIdFilterSnapshot("\"" + epoch + "-" + currentGeneration + "\"", serialize());
+                snapshotGeneration = currentGeneration;
+            }
+            return snapshot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean needsRebuild() {
+        return added.get() > capacity || deleted.get() > capacity / 4;
+    }
+
+    /**
+     * Перестраивает фильтр по базе данных и незавершённым транзакциям. Вызывается под блокировкой записи, когда
+     * пользователи не создаются.
+     */
+    private void rebuild() {
+        LongList ids = new LongList();
+        long lastId = 0;
+        List<Long> batch;
+        do {
+            batch = userRepository.findIdsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Long id : batch) {
+                ids.add(id);
+                lastId = id;
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        uncommitted.forEach(ids::add);
+        long newCapacity = Math.max(MIN_CAPACITY, ids.size() * 2L);
+        BloomFilter newFilter = BloomFilter.create(newCapacity, falsePositiveRate, maxBits);
+        long max = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            newFilter.add(ids.get(i));
+            max = Math.max(max, ids.get(i));
+        }
+        filter = newFilter;
+        capacity = newCapacity;
+        coveredUpTo.set(max);
+        added.set(ids.size());
+        deleted.set(0);
+        generation.incrementAndGet();
+        log.info("Фильтр идентификаторов пользователей построен: пользователей {}, размер {} байт",
+                ids.size(), newFilter.sizeInBytes());
+    }
+
+    /**
+     * Добавляет идентификатор под блокировкой чтения. Пока фильтр не построен, идентификатор только запоминается как
+     * незавершённый: построение возьмёт его из базы данных или из незавершённых.
+     */
+    private void put(long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            uncommitted.add(id);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    uncommitted.remove(id);
+                }
+            });
+        }
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        current.add(id);
+        coveredUpTo.accumulateAndGet(id, Math::max);
+        added.incrementAndGet();
+        generation.incrementAndGet();
+    }
+
+    private byte[] serialize() {
+        BloomFilter current = filter;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(current.sizeInBytes() + 24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(coveredUpTo.get());
+            current.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Растущий массив long без упаковки в Long.
+     */
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
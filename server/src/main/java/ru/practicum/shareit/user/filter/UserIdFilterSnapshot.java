@@ -0,0 +1,10 @@
+package ru.practicum.shareit.user.filter;
+
+/**
+ * Запись UserIdFilterSnapshot — сериализованное состояние {@link UserIdFilter} и его ETag.
+ *
+ * @param etag    ETag состояния; меняется при каждом добавлении пользователя и перестроении фильтра.
+ * @param content фильтр в формате, описанном в {@link UserIdFilter}.
+ */
+public record UserIdFilterSnapshot(String etag, byte[] content) {
+}
@@ -1,10 +1,23 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 /**
  * Интерфейс UserRepository расширяет JpaRepository и предоставляет методы для работы с пользователями.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * Метод findIdsAfter возвращает порцию идентификаторов пользователей больше указанного.
+     *
+     * @param afterId  идентификатор, после которого начинается порция.
+     * @param pageable размер порции.
+     * @return идентификаторы пользователей по возрастанию.
+     */
+    @Query("select u.id from User u where u.id > ?1 order by u.id")
+    List<Long> findIdsAfter(Long afterId, Pageable pageable);
 }
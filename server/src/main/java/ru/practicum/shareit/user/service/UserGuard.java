@@ -0,0 +1,73 @@
+package ru.practicum.shareit.user.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.practicum.shareit.error.exception.NotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Класс UserGuard проверяет существование пользователя из заголовка запроса, не загружая его сущность. Пользователь,
+ * который есть в кэше второго уровня, считается существующим без обращения к базе данных, иначе выполняется один
+ * запрос existsById. Проверенные идентификаторы запоминаются в атрибутах текущего HTTP-запроса, поэтому в пределах
+ * одного запроса пользователь проверяется не более одного раза. Отрицательный результат не запоминается.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserGuard {
+    static final String VERIFIED_USERS_ATTRIBUTE = UserGuard.class.getName() + ".verifiedUsers";
+
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Метод checkExists выбрасывает NotFoundException, если пользователя с указанным идентификатором нет.
+     *
+     * @param userId идентификатор проверяемого пользователя.
+     */
+    public void checkExists(long userId) {
+        Set<Long> verified = verifiedUsers();
+        if (verified != null && verified.contains(userId)) {
+            return;
+        }
+        if (!entityManagerFactory.getCache().contains(User.class, userId) && !userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь с id " + userId + " не найден");
+        }
+        if (verified != null) {
+            verified.add(userId);
+        }
+    }
+
+    /**
+     * Метод reference проверяет существование пользователя и возвращает ссылку на него (прокси Hibernate) для
+     * связей сущностей. Поля пользователя, кроме идентификатора, при обращении загружаются отдельным запросом.
+     *
+     * @param userId идентификатор пользователя.
+     * @return ссылка на пользователя.
+     */
+    public User reference(long userId) {
+        checkExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> verifiedUsers() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Set<Long> verified = (Set<Long>) attributes.getAttribute(VERIFIED_USERS_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (verified == null) {
+            verified = new HashSet<>();
+            attributes.setAttribute(VERIFIED_USERS_ATTRIBUTE, verified, RequestAttributes.SCOPE_REQUEST);
+        }
+        return verified;
+    }
+}
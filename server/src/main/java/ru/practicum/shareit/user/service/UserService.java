@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.filter.UserIdFilterSnapshot;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
@@ -46,4 +47,11 @@ public interface UserService {
      * @return коллекция пользователей
      */
     Collection<User> getAllUsers();
+
+    /**
+     * Возвращает фильтр Блума идентификаторов существующих пользователей для шлюза.
+     *
+     * @return состояние фильтра или null, если фильтр выключен или ещё не построен
+     */
+    UserIdFilterSnapshot getUserIdFilter();
 }
@@ -1,11 +1,16 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
 import ru.practicum.shareit.error.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.filter.UserIdFilter;
+import ru.practicum.shareit.user.filter.UserIdFilterSnapshot;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -14,9 +19,13 @@ import java.util.Collection;
 
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @AllArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final UserIdFilter userIdFilter;
 
     @Transactional
     @Override
@@ -29,7 +38,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto createUser(UserDto newUser) {
         User user = UserMapper.toUser(newUser);
-        User savedUser = userRepository.save(user);
+        User savedUser = userIdFilter.registerNew(() -> userRepository.save(user));
         return UserMapper.toUserDto(savedUser);
     }
 
@@ -51,6 +60,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUserById(Long id) {
         userRepository.deleteById(id);
+        userIdFilter.delete(id);
+        itemAvailabilityIndex.clear();
+        entityCacheEvictor.evictUserDependents();
     }
 
     @Transactional
@@ -58,4 +70,9 @@ public class UserServiceImpl implements UserService {
     public Collection<User> getAllUsers() {
         return userRepository.findAll();
     }
+
+    @Override
+    public UserIdFilterSnapshot getUserIdFilter() {
+        return userIdFilter.snapshot();
+    }
 }
\ No newline at end of file
@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, requests, items, bookings, comments, requests;
-
 CREATE TABLE IF NOT EXISTS users (
 id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
 name VARCHAR(255) NOT NULL,
@@ -43,4 +41,4 @@ item_id BIGINT NOT NULL REFERENCES items (id) ON DELETE CASCADE,
 author_id  BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
 created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 CONSTRAINT pk_comment PRIMARY KEY (id)
-);
\ No newline at end of file
+);
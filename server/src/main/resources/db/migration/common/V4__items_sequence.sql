@@ -0,0 +1,3 @@
+-- Идентификаторы вещей выдаются последовательностью блоками по 50 (оптимизатор pooled-lo в Hibernate), что
+-- позволяет объединять вставки вещей в пакеты JDBC. Шаг должен совпадать с allocationSize в сущности Item.
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,7 @@
+-- Идентификаторы пользователей, запросов, бронирований и комментариев, как и вещей, выдаются последовательностями
+-- блоками по 50 (оптимизатор pooled-lo в Hibernate), чтобы вставки объединялись в пакеты JDBC. Шаг должен совпадать
+-- с allocationSize в соответствующей сущности.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
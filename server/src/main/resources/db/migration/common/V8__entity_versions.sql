@@ -0,0 +1,6 @@
+-- Версии строк для оптимистичной блокировки (@Version) и для тегов ETag условных GET-запросов: любое изменение
+-- вещи, бронирования, запроса или комментария через Hibernate увеличивает версию строки.
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
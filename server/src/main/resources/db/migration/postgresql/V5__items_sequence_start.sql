@@ -0,0 +1,2 @@
+-- Последовательность вещей продолжает уже выданные столбцом IDENTITY идентификаторы.
+SELECT setval('items_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM items), false);
@@ -0,0 +1,142 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет по статистике Hibernate число SQL-запросов, которые выполняет каждая конечная точка. Перед замером кэш
+ * второго уровня очищается, поэтому проверка пользователя из заголовка стоит одного запроса existsById.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class EndpointStatementCountTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    private Statistics statistics;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+    private BookingDtoResponse booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.createUser(UserDto.builder().name("owner").email("owner@gmail.com").build());
+        booker = userService.createUser(UserDto.builder().name("booker").email("booker@gmail.com").build());
+        item = itemService.createItem(owner.getId(), ItemDto.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build());
+        booking = bookingService.addBooking(booker.getId(), BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        itemRequestService.addItemRequest(booker.getId(), ItemRequestDto.builder().description("Нужна дрель").build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void addBookingStatementsTest() throws Exception {
+        BookingDtoRequest request = BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(5))
+                .end(LocalDateTime.now().plusDays(6))
+                .build();
+
+        // existsById, блокировка вещи, владелец вещи, проверка пересечений, вставка бронирования.
+        assertThat(statements(post("/bookings")
+                .header(USER_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))).isEqualTo(5);
+    }
+
+    @Test
+    void approveBookingStatementsTest() throws Exception {
+        // Владелец вещи проверяется по загруженному бронированию, отдельной проверки пользователя нет.
+        assertThat(statements(patch("/bookings/{id}", booking.getId())
+                .header(USER_HEADER, owner.getId())
+                .param("approved", "true"))).isEqualTo(2);
+    }
+
+    @Test
+    void getBookingStatementsTest() throws Exception {
+        assertThat(statements(get("/bookings/{id}", booking.getId())
+                .header(USER_HEADER, booker.getId()))).isEqualTo(2);
+    }
+
+    @Test
+    void getBookerBookingsStatementsTest() throws Exception {
+        // Отметка версий для ETag, existsById, страница бронирований, вещь бронирования.
+        assertThat(statements(get("/bookings").header(USER_HEADER, booker.getId()))).isEqualTo(4);
+        assertThat(statements(get("/bookings/owner").header(USER_HEADER, owner.getId()))).isEqualTo(4);
+    }
+
+    @Test
+    void getItemRequestsStatementsTest() throws Exception {
+        // Отметки версий запросов и ответов на них для ETag, existsById, запросы, вещи всех запросов одним запросом.
+        assertThat(statements(get("/requests").header(USER_HEADER, booker.getId()))).isEqualTo(5);
+        assertThat(statements(get("/requests/all").header(USER_HEADER, owner.getId()))).isEqualTo(3);
+    }
+
+    @Test
+    void cachedUserIsCheckedWithoutStatementTest() throws Exception {
+        userService.getUserById(booker.getId());
+        statistics.clear();
+
+        mvc.perform(get("/bookings").header(USER_HEADER, booker.getId())).andExpect(status().is2xxSuccessful());
+
+        // Отметка версий для ETag и страница бронирований.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        mvc.perform(request).andExpect(status().is2xxSuccessful());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет по плану выполнения (EXPLAIN), что запросы репозиториев выбирают индексы из миграции V2. План строится
+ * для SQL, который Hibernate сформировал при вызове метода репозитория, и проверяется по имени индекса: индексы
+ * внешних ключей из V1 H2 создаёт и без V2, поэтому одного отсутствия tableScan недостаточно. Проверены только
+ * запросы, для которых H2 предпочитает индекс из V2; для постраничных запросов с курсором по (start_date, id)
+ * оптимизатор H2 выбирает индекс внешнего ключа, и здесь они не проверяются.
+ */
+@DataJpaTest
+class QueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private LastStatementInspector inspector;
+
+    @Test
+    void bookerPageByStatusUsesBookerStatusStartIndexTest() {
+        bookingRepository.findBookerPageByStatus(1L, List.of(BookingStatus.WAITING), NOW, Long.MAX_VALUE,
+                PageRequest.ofSize(10));
+
+        assertThat(explainLastStatement()).containsIgnoringCase("idx_bookings_booker_status_start");
+    }
+
+    @Test
+    void overlappingUsesItemStartEndIndexTest() {
+        bookingRepository.existsOverlapping(1L, NOW, NOW.plusDays(1), List.of(BookingStatus.APPROVED));
+
+        assertThat(explainLastStatement()).containsIgnoringCase("idx_bookings_item_start_end");
+    }
+
+    @Test
+    void ownerItemsUseOwnerIndexTest() {
+        itemRepository.findByOwnerId(1L, PageRequest.ofSize(10));
+
+        assertThat(explainLastStatement()).containsIgnoringCase("idx_items_owner");
+    }
+
+    @Test
+    void requestItemsUseRequestIndexTest() {
+        itemRepository.findItemsForRequests(List.of(1L, 2L));
+
+        assertThat(explainLastStatement()).containsIgnoringCase("idx_items_request");
+    }
+
+    @Test
+    void itemCommentsUseItemIndexTest() {
+        commentRepository.findStampByItemId(1L);
+
+        assertThat(explainLastStatement()).containsIgnoringCase("idx_comments_item");
+    }
+
+    private String explainLastStatement() {
+        String sql = inspector.last();
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    /**
+     * Запоминает последний SQL-запрос, подготовленный Hibernate.
+     */
+    static class LastStatementInspector implements StatementInspector {
+        private final AtomicReference<String> last = new AtomicReference<>();
+
+        @Override
+        public String inspect(String sql) {
+            last.set(sql);
+            return sql;
+        }
+
+        String last() {
+            return last.get();
+        }
+    }
+
+    @TestConfiguration
+    static class InspectorConfig {
+        @Bean
+        LastStatementInspector lastStatementInspector() {
+            return new LastStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer lastStatementInspectorHibernateProperties(LastStatementInspector inspector) {
+            return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityIndexTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 10, 12, 0, 0, 123_456_000);
+    @Mock
+    private BookingRepository bookingRepository;
+    private ItemAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemAvailabilityIndex(bookingRepository, true, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void hasOverlapLoadsItemOnceTest() {
+        when(bookingRepository.findItemIntervals(anyCollection(), any())).thenReturn(List.of(
+                new View(1L, 1L, 5L, DAY, DAY.plusDays(10), BookingStatus.APPROVED),
+                new View(2L, 1L, 5L, DAY.plusDays(1), DAY.plusDays(2), BookingStatus.WAITING),
+                new View(3L, 1L, 5L, DAY.plusDays(20), DAY.plusDays(21), BookingStatus.WAITING)));
+
+        assertTrue(index.hasOverlap(1L, DAY.plusDays(5), DAY.plusDays(6)));
+        assertTrue(index.hasOverlap(1L, DAY.minusDays(1), DAY.plusSeconds(1)));
+        assertTrue(index.hasOverlap(1L, DAY.plusDays(19), DAY.plusDays(25)));
+        assertFalse(index.hasOverlap(1L, DAY.plusDays(10), DAY.plusDays(20)));
+        assertFalse(index.hasOverlap(1L, DAY.minusDays(2), DAY));
+        assertFalse(index.hasOverlap(1L, DAY.plusDays(21), DAY.plusDays(22)));
+        verify(bookingRepository, times(1)).findItemIntervals(anyCollection(), any());
+    }
+
+    @Test
+    void findLastAndNextUsesApprovedBookingsOnlyTest() {
+        when(bookingRepository.findItemIntervals(anyCollection(), any())).thenReturn(List.of(
+                new View(1L, 1L, 5L, DAY, DAY.plusDays(1), BookingStatus.APPROVED),
+                new View(2L, 1L, 6L, DAY.plusDays(2), DAY.plusDays(3), BookingStatus.WAITING),
+                new View(3L, 1L, 7L, DAY.plusDays(4), DAY.plusDays(5), BookingStatus.APPROVED)));
+
+        Map<Long, ItemAvailabilityIndex.LastAndNext> result = index.findLastAndNext(List.of(1L, 2L),
+                DAY.plusDays(1));
+
+        assertEquals(1, result.size());
+        assertEquals(new BookingItemDto(1L, 5L, DAY, DAY.plusDays(1)), result.get(1L).last());
+        assertEquals(new BookingItemDto(3L, 7L, DAY.plusDays(4), DAY.plusDays(5)), result.get(1L).next());
+        assertNull(index.findLastAndNext(List.of(1L), DAY.minusDays(1)).get(1L).last());
+        verify(bookingRepository, times(1)).findItemIntervals(anyCollection(), any());
+    }
+
+    @Test
+    void committedChangesAreAppliedWithoutReloadTest() {
+        when(bookingRepository.findItemIntervals(anyCollection(), any())).thenReturn(List.of());
+        assertFalse(index.hasOverlap(1L, DAY, DAY.plusDays(1)));
+
+        Booking booking = makeBooking(10L, DAY, DAY.plusDays(1), BookingStatus.WAITING);
+        inTransaction(() -> index.add(booking), TransactionSynchronization.STATUS_COMMITTED);
+        assertTrue(index.hasOverlap(1L, DAY.plusHours(1), DAY.plusHours(2)));
+        assertTrue(index.findLastAndNext(List.of(1L), DAY.minusDays(1)).isEmpty());
+
+        booking.setStatus(BookingStatus.APPROVED);
+        inTransaction(() -> index.statusChanged(booking), TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(10L, index.findLastAndNext(List.of(1L), DAY.minusDays(1)).get(1L).next().getId());
+
+        booking.setStatus(BookingStatus.REJECTED);
+        inTransaction(() -> index.statusChanged(booking), TransactionSynchronization.STATUS_COMMITTED);
+        assertFalse(index.hasOverlap(1L, DAY, DAY.plusDays(1)));
+        verify(bookingRepository, times(1)).findItemIntervals(anyCollection(), any());
+    }
+
+    @Test
+    void rolledBackOrConcurrentlyLoadedItemIsReloadedTest() {
+        when(bookingRepository.findItemIntervals(anyCollection(), any())).thenReturn(List.of());
+        assertFalse(index.hasOverlap(1L, DAY, DAY.plusDays(1)));
+        inTransaction(() -> index.add(makeBooking(10L, DAY, DAY.plusDays(1), BookingStatus.WAITING)),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertFalse(index.hasOverlap(1L, DAY, DAY.plusDays(1)));
+        verify(bookingRepository, times(1)).findItemIntervals(anyCollection(), any());
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.add(makeBooking(10L, DAY, DAY.plusDays(1), BookingStatus.WAITING));
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> {
+            synchronization.beforeCommit(false);
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        });
+        TransactionSynchronizationManager.clearSynchronization();
+        assertFalse(index.hasOverlap(1L, DAY, DAY.plusDays(1)));
+        verify(bookingRepository, times(2)).findItemIntervals(anyCollection(), any());
+
+        index.evict(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        index.add(makeBooking(11L, DAY, DAY.plusDays(1), BookingStatus.WAITING));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        // Загрузка между применением изменения и фиксацией не видит новую запись и не должна остаться в индексе.
+        assertFalse(index.hasOverlap(1L, DAY, DAY.plusDays(1)));
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        assertFalse(index.hasOverlap(1L, DAY, DAY.plusDays(1)));
+        verify(bookingRepository, times(4)).findItemIntervals(anyCollection(), any());
+    }
+
+    @Test
+    void leastRecentlyUsedItemIsEvictedTest() {
+        when(bookingRepository.findItemIntervals(anyCollection(), any())).thenReturn(List.of());
+        index.hasOverlap(1L, DAY, DAY.plusDays(1));
+        index.hasOverlap(2L, DAY, DAY.plusDays(1));
+        index.hasOverlap(1L, DAY, DAY.plusDays(1));
+        index.hasOverlap(3L, DAY, DAY.plusDays(1));
+        index.hasOverlap(1L, DAY, DAY.plusDays(1));
+        verify(bookingRepository, times(3)).findItemIntervals(anyCollection(), any());
+        index.hasOverlap(2L, DAY, DAY.plusDays(1));
+        verify(bookingRepository, times(4)).findItemIntervals(anyCollection(), any());
+    }
+
+    @Test
+    void microsConversionIsLosslessTest() {
+        LocalDateTime dateTime = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+        assertEquals(dateTime, ItemAvailabilityIndex.fromMicros(ItemAvailabilityIndex.toMicros(dateTime)));
+        assertEquals(DAY, ItemAvailabilityIndex.fromMicros(ItemAvailabilityIndex.toMicros(DAY)));
+    }
+
+    private void inTransaction(Runnable action, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        action.run();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private Booking makeBooking(long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(Item.builder().id(1L).build());
+        booking.setBooker(User.builder().id(5L).build());
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private record View(Long id, Long itemId, Long bookerId, LocalDateTime startDate, LocalDateTime endDate,
+                        BookingStatus status) implements BookingIntervalView {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public Long getBookerId() {
+            return bookerId;
+        }
+
+        @Override
+        public LocalDateTime getStartDate() {
+            return startDate;
+        }
+
+        @Override
+        public LocalDateTime getEndDate() {
+            return endDate;
+        }
+
+        @Override
+        public BookingStatus getStatus() {
+            return status;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.error.exception.BadRequestException;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
@@ -24,6 +25,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -117,8 +119,8 @@ public class BookingControllerTest {
     @SneakyThrows
     @Test
     void getAllBookingsByUserTest() throws Exception {
-        when(bookingService.getAllBookingByUser(anyString(), anyLong()))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.getAllBookingByUser(anyString(), anyLong(), any(), anyInt(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(bookingDto), "next"));
 
         mvc.perform(get(BASE_PATH_BOOKINGS + "?state=ALL")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -126,14 +128,15 @@ public class BookingControllerTest {
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
                 .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
     }
 
     @SneakyThrows
     @Test
     void getAllUserItemsBookingsTest() throws Exception {
-        when(bookingService.getAllBookingByOwner(anyString(), anyLong()))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.getAllBookingByOwner(anyString(), anyLong(), any(), anyInt(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(bookingDto), null));
 
         mvc.perform(get(BASE_PATH_BOOKINGS + "/owner?state=ALL")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -141,6 +144,7 @@ public class BookingControllerTest {
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
     }
 
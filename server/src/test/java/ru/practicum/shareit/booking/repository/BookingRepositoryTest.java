@@ -7,23 +7,24 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.error.exception.BadRequestException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
-import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
-import static org.springframework.data.domain.Sort.Direction.DESC;
 
 @DataJpaTest
 public class BookingRepositoryTest {
+    private static final BookingCursor FIRST = BookingCursor.FIRST;
+    private static final Pageable PAGE = PageRequest.of(0, 20);
     @Autowired
     private BookingRepository bookingRepository;
     @Autowired
@@ -137,16 +138,16 @@ public class BookingRepositoryTest {
                 booker,
                 BookingStatus.REJECTED));
 
-        List<Booking> listBookings = bookingRepository.findByItem_OwnerId(owner.getId());
+        List<Booking> listBookings = bookingRepository.findOwnerPage(owner.getId(), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
-        assertThat(listBookings.get(0).getItem())
+        assertThat(listBookings.get(1).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item1 name");
-        assertThat(listBookings.get(1).getItem())
+        assertThat(listBookings.get(0).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item2 name");
     }
@@ -184,8 +185,8 @@ public class BookingRepositoryTest {
                 BookingStatus.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllCurrentBookingsByOwner(owner.getId(),
-                LocalDateTime.now());
+        List<Booking> listBookings = bookingRepository.findOwnerCurrentPage(owner.getId(),
+                LocalDateTime.now(), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(1)
@@ -228,8 +229,8 @@ public class BookingRepositoryTest {
                 owner2,
                 BookingStatus.WAITING));
 
-        List<Booking> listBookings = bookingRepository.findByItem_OwnerIdAndEndBeforeAndStatus(owner1.getId(),
-                LocalDateTime.now(), BookingStatus.APPROVED);
+        List<Booking> listBookings = bookingRepository.findOwnerPastPage(owner1.getId(),
+                LocalDateTime.now(), BookingStatus.APPROVED, FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(1)
@@ -272,8 +273,8 @@ public class BookingRepositoryTest {
                 booker,
                 BookingStatus.WAITING));
 
-        List<Booking> listBookings = bookingRepository.findByItem_OwnerIdAndStartAfter(owner.getId(),
-                LocalDateTime.now());
+        List<Booking> listBookings = bookingRepository.findOwnerFuturePage(owner.getId(),
+                LocalDateTime.now(), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(1)
@@ -317,17 +318,17 @@ public class BookingRepositoryTest {
                 BookingStatus.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findByItem_OwnerIdAndStatus(owner.getId(),
-                BookingStatus.WAITING);
+        List<Booking> listBookings = bookingRepository.findOwnerPageByStatus(owner.getId(),
+                List.of(BookingStatus.WAITING), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
-        assertThat(listBookings.get(0).getItem())
+        assertThat(listBookings.get(1).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item1 name");
-        ObjectAssert<Item> itemObjectAssert = assertThat(listBookings.get(1).getItem())
+        ObjectAssert<Item> itemObjectAssert = assertThat(listBookings.get(0).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item2 name");
     }
@@ -365,17 +366,17 @@ public class BookingRepositoryTest {
                 BookingStatus.REJECTED));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findByItem_OwnerIdAndStatusOrStatus(owner.getId(),
-                BookingStatus.REJECTED, BookingStatus.CANCELED);
+        List<Booking> listBookings = bookingRepository.findOwnerPageByStatus(owner.getId(),
+                List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
-        assertThat(listBookings.get(0).getItem())
+        assertThat(listBookings.get(1).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item1 name");
-        assertThat(listBookings.get(1).getItem())
+        assertThat(listBookings.get(0).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item2 name");
     }
@@ -413,7 +414,7 @@ public class BookingRepositoryTest {
                 BookingStatus.APPROVED));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findByBookerId(booker.getId(), Sort.by(DESC, "start"));
+        List<Booking> listBookings = bookingRepository.findBookerPage(booker.getId(), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(2)
@@ -460,8 +461,8 @@ public class BookingRepositoryTest {
                 BookingStatus.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findByBookerAllCurrentBookings(booker.getId(),
-                LocalDateTime.now());
+        List<Booking> listBookings = bookingRepository.findBookerCurrentPage(booker.getId(),
+                LocalDateTime.now(), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(1)
@@ -504,8 +505,8 @@ public class BookingRepositoryTest {
                 booker,
                 BookingStatus.WAITING));
 
-        List<Booking> listBookings = bookingRepository.findByBookerIdAndEndBeforeAndStatus(booker.getId(),
-                LocalDateTime.now(), BookingStatus.APPROVED);
+        List<Booking> listBookings = bookingRepository.findBookerPastPage(booker.getId(),
+                LocalDateTime.now(), BookingStatus.APPROVED, FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(1)
@@ -548,8 +549,8 @@ public class BookingRepositoryTest {
                 booker,
                 BookingStatus.WAITING));
 
-        List<Booking> listBookings = bookingRepository.findByBookerIdAndStartAfter(booker.getId(),
-                LocalDateTime.now());
+        List<Booking> listBookings = bookingRepository.findBookerFuturePage(booker.getId(),
+                LocalDateTime.now(), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(1)
@@ -592,17 +593,17 @@ public class BookingRepositoryTest {
                 booker,
                 BookingStatus.WAITING));
 
-        List<Booking> listBookings = bookingRepository.findByBookerIdAndStatus(booker.getId(),
-                BookingStatus.WAITING);
+        List<Booking> listBookings = bookingRepository.findBookerPageByStatus(booker.getId(),
+                List.of(BookingStatus.WAITING), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
-        assertThat(listBookings.get(0).getItem())
+        assertThat(listBookings.get(1).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item1 name");
-        assertThat(listBookings.get(1).getItem())
+        assertThat(listBookings.get(0).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item2 name");
     }
@@ -639,24 +640,132 @@ public class BookingRepositoryTest {
                 booker,
                 BookingStatus.REJECTED));
 
-        List<Booking> listBookings = bookingRepository.findByBookerIdAndStatusOrStatus(booker.getId(),
-                BookingStatus.REJECTED, BookingStatus.CANCELED);
+        List<Booking> listBookings = bookingRepository.findBookerPageByStatus(booker.getId(),
+                List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), FIRST.start(), FIRST.id(), PAGE);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
-        assertThat(listBookings.get(0).getItem())
+        assertThat(listBookings.get(1).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item1 name");
-        assertThat(listBookings.get(1).getItem())
+        assertThat(listBookings.get(0).getItem())
                 .isInstanceOf(Item.class)
                 .hasFieldOrPropertyWithValue("name", "Item2 name");
     }
 
     @Test
-    public void shouldValidateBookingTest() {
-        LocalDateTime now = LocalDateTime.now();
+    public void shouldContinueFromCursorTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        User owner = entityManager.persist(makeUser(null,
+                "Owner",
+                "owner@gmail.com"));
+        User booker = entityManager.persist(makeUser(null,
+                "Booker",
+                "booker@gmail.com"));
+        Item item = entityManager.persist(makeItem(null,
+                "Item1 name",
+                "Item1 description",
+                owner,
+                true));
+        Booking first = entityManager.persist(makeBooking(null, start, start.plusHours(1), item, booker,
+                BookingStatus.WAITING));
+        Booking second = entityManager.persist(makeBooking(null, start, start.plusHours(2), item, booker,
+                BookingStatus.WAITING));
+        Booking third = entityManager.persist(makeBooking(null, start.minusHours(1), start, item, booker,
+                BookingStatus.WAITING));
+
+        List<Booking> firstPage = bookingRepository.findBookerPage(booker.getId(), FIRST.start(), FIRST.id(),
+                PageRequest.of(0, 2));
+        BookingCursor cursor = BookingCursor.decode(BookingCursor.after(firstPage.getLast()).encode());
+        List<Booking> secondPage = bookingRepository.findOwnerPage(owner.getId(), cursor.start(), cursor.id(),
+                PageRequest.of(0, 2));
+
+        assertThat(firstPage).containsExactly(second, first);
+        assertThat(secondPage).containsExactly(third);
+    }
+
+    @Test
+    public void shouldFindLastAndNextBookingsPerItemTest() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        User owner = entityManager.persist(makeUser(null,
+                "Owner",
+                "owner@gmail.com"));
+        User booker = entityManager.persist(makeUser(null,
+                "Booker",
+                "booker@gmail.com"));
+        Item item1 = entityManager.persist(makeItem(null,
+                "Item1 name",
+                "Item1 description",
+                owner,
+                true));
+        Item item2 = entityManager.persist(makeItem(null,
+                "Item2 name",
+                "Item2 description",
+                owner,
+                true));
+        entityManager.persist(makeBooking(null, now.minusDays(5), now.minusDays(4), item1, booker,
+                BookingStatus.APPROVED));
+        Booking last = entityManager.persist(makeBooking(null, now.minusDays(2), now.minusDays(1), item1, booker,
+                BookingStatus.APPROVED));
+        entityManager.persist(makeBooking(null, now.minusHours(1), now.plusHours(1), item1, booker,
+                BookingStatus.REJECTED));
+        Booking next = entityManager.persist(makeBooking(null, now.plusDays(1), now.plusDays(2), item1, booker,
+                BookingStatus.APPROVED));
+        entityManager.persist(makeBooking(null, now.plusDays(3), now.plusDays(4), item1, booker,
+                BookingStatus.APPROVED));
+        Booking onlyNext = entityManager.persist(makeBooking(null, now.plusDays(2), now.plusDays(3), item2, booker,
+                BookingStatus.APPROVED));
+        entityManager.flush();
+
+        List<BookingShortView> bookings = bookingRepository.findLastAndNextBookings(
+                List.of(item1.getId(), item2.getId()), now);
+
+        assertThat(bookings).extracting(BookingShortView::getId)
+                .containsExactlyInAnyOrder(last.getId(), next.getId(), onlyNext.getId());
+        BookingShortView lastView = bookings.stream().filter(b -> b.getId().equals(last.getId())).findFirst()
+                .orElseThrow();
+        assertThat(lastView.getItemId()).isEqualTo(item1.getId());
+        assertThat(lastView.getBookerId()).isEqualTo(booker.getId());
+        assertThat(lastView.getStartDate()).isEqualTo(last.getStart());
+        assertThat(lastView.getEndDate()).isEqualTo(last.getEnd());
+    }
+
+    @Test
+    public void shouldBreakLastAndNextBookingTiesByIdTest() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        User owner = entityManager.persist(makeUser(null,
+                "Owner",
+                "owner@gmail.com"));
+        User booker = entityManager.persist(makeUser(null,
+                "Booker",
+                "booker@gmail.com"));
+        Item item = entityManager.persist(makeItem(null,
+                "Item name",
+                "Item description",
+                owner,
+                true));
+        entityManager.persist(makeBooking(null, now.minusDays(2), now.minusDays(1), item, booker,
+                BookingStatus.APPROVED));
+        Booking last = entityManager.persist(makeBooking(null, now.minusDays(2), now.minusHours(1), item, booker,
+                BookingStatus.APPROVED));
+        Booking next = entityManager.persist(makeBooking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                BookingStatus.APPROVED));
+        entityManager.persist(makeBooking(null, now.plusDays(1), now.plusDays(3), item, booker,
+                BookingStatus.APPROVED));
+        entityManager.flush();
+
+        List<BookingShortView> bookings = bookingRepository.findLastAndNextBookings(List.of(item.getId()), now);
+
+        assertThat(bookings).extracting(BookingShortView::getId)
+                .containsExactlyInAnyOrder(last.getId(), next.getId());
+    }
+
+    @Test
+    public void shouldDetectOverlappingBookingTest() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<BookingStatus> occupying = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
         User owner = entityManager.persist(makeUser(null,
                 "Owner",
                 "owner@gmail.com"));
@@ -673,29 +782,56 @@ public class BookingRepositoryTest {
                 "Item 2 description",
                 owner,
                 true));
-        BookingDtoRequest bookingDtoRequest = BookingDtoRequest
-                .builder()
-                .itemId(owner.getId())
-                .start(now.minusDays(2))
-                .end(now.minusDays(1))
-                .build();
         entityManager.persist(makeBooking(null,
-                now.minusDays(2),
-                now.plusDays(1),
+                now.plusDays(2),
+                now.plusDays(4),
                 item1,
                 booker,
                 BookingStatus.WAITING));
         entityManager.persist(makeBooking(null,
-                now.plusDays(1),
-                now.plusDays(2),
-                item2,
+                now.plusDays(10),
+                now.plusDays(12),
+                item1,
                 booker,
+                BookingStatus.REJECTED));
+
+        assertThat(bookingRepository.existsOverlapping(item1.getId(), now.plusDays(1), now.plusDays(3),
+                occupying)).isTrue();
+        assertThat(bookingRepository.existsOverlapping(item1.getId(), now.plusDays(3), now.plusDays(5),
+                occupying)).isTrue();
+        assertThat(bookingRepository.existsOverlapping(item1.getId(), now.plusDays(1), now.plusDays(5),
+                occupying)).isTrue();
+        assertThat(bookingRepository.existsOverlapping(item1.getId(), now.plusDays(2), now.plusDays(4),
+                occupying)).isTrue();
+        assertThat(bookingRepository.existsOverlapping(item1.getId(), now.plusDays(4), now.plusDays(5),
+                occupying)).isFalse();
+        assertThat(bookingRepository.existsOverlapping(item1.getId(), now.plusDays(1), now.plusDays(2),
+                occupying)).isFalse();
+        assertThat(bookingRepository.existsOverlapping(item1.getId(), now.plusDays(10), now.plusDays(11),
+                occupying)).isFalse();
+        assertThat(bookingRepository.existsOverlapping(item2.getId(), now.plusDays(1), now.plusDays(5),
+                occupying)).isFalse();
+    }
+
+    @Test
+    public void shouldFindItemIntervalsOrderedByStartTest() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        User owner = entityManager.persist(makeUser(null, "Owner", "owner@gmail.com"));
+        User booker = entityManager.persist(makeUser(null, "Booker", "booker@gmail.com"));
+        Item item = entityManager.persist(makeItem(null, "Item1 name", "Item1 description", owner, true));
+        Booking later = entityManager.persist(makeBooking(null, now.plusDays(5), now.plusDays(6), item, booker,
+                BookingStatus.APPROVED));
+        Booking earlier = entityManager.persist(makeBooking(null, now.plusDays(1), now.plusDays(2), item, booker,
                 BookingStatus.WAITING));
+        entityManager.persist(makeBooking(null, now.plusDays(3), now.plusDays(4), item, booker,
+                BookingStatus.REJECTED));
+
+        List<BookingIntervalView> intervals = bookingRepository.findItemIntervals(List.of(item.getId()),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
 
-        try {
-            bookingRepository.checkValidateBookings(item1.getId(), bookingDtoRequest.getStart());
-        } catch (BadRequestException ex) {
-            assertThatExceptionOfType(BadRequestException.class);
-        }
+        assertThat(intervals).extracting(BookingIntervalView::getId).containsExactly(earlier.getId(), later.getId());
+        assertThat(intervals.get(1).getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(intervals.get(1).getBookerId()).isEqualTo(booker.getId());
+        assertThat(intervals.get(1).getStartDate()).isEqualTo(later.getStart());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.error.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        properties = "spring.datasource.hikari.maximum-pool-size=16",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class BookingConcurrencyTest {
+    private static final int ATTEMPTS = 200;
+    private static final int THREADS = 16;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void parallelOverlappingBookingsAcceptOnlyOneTest() throws Exception {
+        UserDto owner = userService.createUser(UserDto.builder()
+                .name("owner")
+                .email("concurrency-owner@gmail.com")
+                .build());
+        ItemDto item = itemService.createItem(owner.getId(), ItemDto.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build());
+        List<Long> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userService.createUser(UserDto.builder()
+                    .name("booker" + i)
+                    .email("concurrency-booker" + i + "@gmail.com")
+                    .build()).getId());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                long bookerId = bookers.get(i % THREADS);
+                // Интервалы попарно пересекаются, поэтому принято может быть только одно бронирование.
+                BookingDtoRequest request = BookingDtoRequest.builder()
+                        .itemId(item.getId())
+                        .start(start.plusMinutes(i % 30))
+                        .end(start.plusHours(2).plusMinutes(i % 30))
+                        .build();
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    try {
+                        bookingService.addBooking(bookerId, request);
+                        accepted.incrementAndGet();
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    throw new AssertionError("Неожиданная ошибка при бронировании", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(accepted.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - 1);
+        assertThat(bookingRepository.findAll()).hasSize(1);
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BookingExportTest {
+    private static final int BOOKINGS = BookingRepository.EXPORT_FETCH_SIZE * 2 + 200;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingService bookingService;
+    private User owner;
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("export-owner@gmail.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("export-booker@gmail.com").build());
+        User otherOwner = userRepository.save(User.builder().name("other").email("export-other@gmail.com").build());
+        Item item = itemRepository.save(Item.builder().name("Дрель").description("Дрель").available(true)
+                .owner(owner).build());
+        Item otherItem = itemRepository.save(Item.builder().name("Пила").description("Пила").available(true)
+                .owner(otherOwner).build());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(Booking.builder().item(item).booker(booker).start(start.plusHours(i))
+                    .end(start.plusHours(i).plusMinutes(30)).status(BookingStatus.APPROVED).build());
+        }
+        bookings.add(Booking.builder().item(otherItem).booker(booker).start(start).end(start.plusHours(1))
+                .status(BookingStatus.APPROVED).build());
+        bookingRepository.saveAll(bookings);
+    }
+
+    @Test
+    void exportWritesOwnerBookingsAsNdjsonTest() throws Exception {
+        MvcResult started = mvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(BOOKINGS);
+        JsonNode first = mapper.readTree(lines[0]);
+        JsonNode last = mapper.readTree(lines[BOOKINGS - 1]);
+        assertThat(first.get("start").asText()).isGreaterThan(last.get("start").asText());
+        assertThat(first.get("item").get("name").asText()).isEqualTo("Дрель");
+        assertThat(first.get("status").asText()).isEqualTo("APPROVED");
+    }
+
+    @Test
+    void exportForUnknownUserReturnsNotFoundTest() throws Exception {
+        MvcResult started = mvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", 999L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportKeepsPersistenceContextBoundedTest() throws Exception {
+        int[] maxManaged = new int[1];
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                buffer.write(b);
+                track();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                buffer.write(b, off, len);
+                track();
+            }
+
+            private void track() {
+                int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+                maxManaged[0] = Math.max(maxManaged[0], managed);
+            }
+        };
+
+        bookingService.exportBookingsByOwner(owner.getId(), out);
+
+        assertThat(buffer.toString(StandardCharsets.UTF_8).split("\n")).hasSize(BOOKINGS);
+        // Бронирования порции, вещь, её владелец и автор бронирований.
+        assertThat(maxManaged[0]).isLessThanOrEqualTo(BookingRepository.EXPORT_FETCH_SIZE + 3);
+    }
+}
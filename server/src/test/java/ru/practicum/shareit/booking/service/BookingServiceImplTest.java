@@ -202,7 +202,7 @@ public class BookingServiceImplTest {
         BookingDtoResponse bookingDtoFromDB2 = bookingService.addBooking(secondTestUser.getId(), secondBookItemRequestDto);
         List<BookingDtoResponse> bookingDtos = List.of(bookingDtoFromDB, bookingDtoFromDB2);
         List<BookingDtoResponse> bookings = bookingService.getAllBookingByUser("ALL",
-                secondTestUser.getId());
+                secondTestUser.getId(), null, 0, 20).getBookings();
 
         assertNotNull(bookings);
         assertEquals(bookings.size(), bookingDtos.size());
@@ -213,7 +213,7 @@ public class BookingServiceImplTest {
     void getAllBookingsExceptionTest() {
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> bookingService.getAllBookingByUser("ALL",
-                        3L));
+                        3L, null, 0, 20));
         assertEquals("Пользователь с id 3 не найден", ex.getMessage());
     }
 
@@ -224,7 +224,7 @@ public class BookingServiceImplTest {
         BookingDtoResponse bookingDtoFromDB2 = bookingService.addBooking(secondTestUser.getId(), secondBookItemRequestDto);
         List<BookingDtoResponse> bookingDtos = List.of(bookingDtoFromDB, bookingDtoFromDB2);
         List<BookingDtoResponse> bookings = bookingService
-                .getAllBookingByOwner("ALL", testUser.getId());
+                .getAllBookingByOwner("ALL", testUser.getId(), null, 0, 20).getBookings();
 
         assertNotNull(bookings);
         assertEquals(bookings.size(), bookingDtos.size());
@@ -252,7 +252,7 @@ public class BookingServiceImplTest {
         BookingDtoResponse firstBooking = bookingService.addBooking(secondTestUser.getId(), bookingDto);
         bookingService.updateBooking(testUser.getId(), firstBooking.getId(), true);
         List<BookingDtoResponse> currentBookings = bookingService.getAllBookingByUser("CURRENT",
-                secondTestUser.getId());
+                secondTestUser.getId(), null, 0, 20).getBookings();
         BookingDtoResponse currentBooking = currentBookings.getFirst();
 
         assertEquals(currentBookings.size(), bookingDtos.size());
@@ -269,7 +269,7 @@ public class BookingServiceImplTest {
         List<BookingDtoRequest> bookingDtos = List.of(bookingDto);
         BookingDtoResponse firstBooking = bookingService.addBooking(secondTestUser.getId(), bookingDto);
         List<BookingDtoResponse> futureBookings = bookingService.getAllBookingByUser("FUTURE",
-                secondTestUser.getId());
+                secondTestUser.getId(), null, 0, 20).getBookings();
         BookingDtoResponse futureBooking = futureBookings.getFirst();
 
         assertEquals(futureBookings.size(), bookingDtos.size());
@@ -288,7 +288,7 @@ public class BookingServiceImplTest {
         BookingDtoResponse firstBooking = bookingService.addBooking(secondTestUser.getId(), bookingDto);
         bookingService.updateBooking(testUser.getId(), firstBooking.getId(), true);
         List<BookingDtoResponse> pastBookings = bookingService.getAllBookingByUser("PAST",
-                secondTestUser.getId());
+                secondTestUser.getId(), null, 0, 20).getBookings();
         BookingDtoResponse pastBooking = pastBookings.getFirst();
 
         assertEquals(pastBookings.size(), bookingDtos.size());
@@ -308,7 +308,7 @@ public class BookingServiceImplTest {
         BookingDtoResponse firstBooking = bookingService.addBooking(secondTestUser.getId(), bookingDto);
         bookingService.updateBooking(testUser.getId(), firstBooking.getId(), true);
         List<BookingDtoResponse> futureBookings = bookingService.getAllBookingByOwner("FUTURE",
-                testUser.getId());
+                testUser.getId(), null, 0, 20).getBookings();
         BookingDtoResponse futureBooking = futureBookings.getFirst();
 
         assertEquals(futureBookings.size(), bookingDtos.size());
@@ -328,7 +328,7 @@ public class BookingServiceImplTest {
         bookingService.updateBooking(testUser.getId(), firstBooking.getId(), true);
 
         List<BookingDtoResponse> pastBookings = bookingService.getAllBookingByOwner("PAST",
-                testUser.getId());
+                testUser.getId(), null, 0, 20).getBookings();
         BookingDtoResponse pastBooking = pastBookings.getFirst();
 
         assertEquals(pastBookings.size(), bookingDtos.size());
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class EntityCacheTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter sqlStatementCounter;
+
+    @Test
+    void repeatedUserLookupsAreServedFromCacheTest() {
+        UserDto user = userService.createUser(UserDto.builder().name("user").email("user@gmail.com").build());
+        userService.getUserById(user.getId());
+        double hits = cacheHits(EntityCacheConfig.USERS);
+
+        sqlStatementCounter.start();
+        userService.getUserById(user.getId());
+        userService.getUserById(user.getId());
+
+        assertThat(sqlStatementCounter.stop()).isZero();
+        assertThat(cacheHits(EntityCacheConfig.USERS) - hits).isEqualTo(2);
+    }
+
+    @Test
+    void updatedUserReplacesCachedEntryTest() {
+        UserDto user = userService.createUser(UserDto.builder().name("user").email("user@gmail.com").build());
+        userService.getUserById(user.getId());
+
+        userService.updateUser(UserDto.builder().name("renamed").build(), user.getId());
+
+        assertThat(userService.getUserById(user.getId()).getName()).isEqualTo("renamed");
+    }
+
+    @Test
+    void deletingUserEvictsCascadedItemsTest() {
+        UserDto owner = userService.createUser(UserDto.builder().name("owner").email("owner@gmail.com").build());
+        ItemDto item = itemService.createItem(owner.getId(), ItemDto.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build());
+        assertThat(itemRepository.findById(item.getId())).isPresent();
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isTrue();
+
+        userService.deleteUserById(owner.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isFalse();
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+
+    private double cacheHits(String region) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", region)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
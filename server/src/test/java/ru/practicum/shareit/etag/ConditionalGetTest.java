@@ -0,0 +1,121 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ConditionalGetTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.createUser(UserDto.builder().name("owner").email("owner@gmail.com").build());
+        booker = userService.createUser(UserDto.builder().name("booker").email("booker@gmail.com").build());
+        item = itemService.createItem(owner.getId(), ItemDto.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build());
+    }
+
+    @Test
+    void itemIsNotModifiedUntilUpdatedTest() throws Exception {
+        String etag = etag("/items/" + item.getId(), owner.getId());
+
+        mvc.perform(get("/items/{id}", item.getId()).header(USER_HEADER, owner.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        itemService.updateItem(owner.getId(), item.getId(), ItemDto.builder().name("Перфоратор").build());
+
+        assertThat(etag("/items/" + item.getId(), owner.getId())).isNotEqualTo(etag);
+    }
+
+    @Test
+    void itemETagDependsOnUserTest() throws Exception {
+        assertThat(etag("/items/" + item.getId(), owner.getId()))
+                .isNotEqualTo(etag("/items/" + item.getId(), booker.getId()));
+    }
+
+    @Test
+    void bookingsETagChangesAfterApprovalTest() throws Exception {
+        BookingDtoResponse booking = bookingService.addBooking(booker.getId(), BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        String bookerETag = etag("/bookings", booker.getId());
+        String ownerETag = etag("/bookings/owner", owner.getId());
+        String itemETag = etag("/items/" + item.getId(), owner.getId());
+
+        bookingService.updateBooking(booking.getId(), owner.getId(), true);
+
+        assertThat(etag("/bookings", booker.getId())).isNotEqualTo(bookerETag);
+        assertThat(etag("/bookings/owner", owner.getId())).isNotEqualTo(ownerETag);
+        assertThat(etag("/items/" + item.getId(), owner.getId())).isNotEqualTo(itemETag);
+    }
+
+    @Test
+    void requestsETagChangesWhenAnsweredTest() throws Exception {
+        ItemRequestResponseDto request = itemRequestService.addItemRequest(booker.getId(),
+                ItemRequestDto.builder().description("Нужна пила").build());
+        String etag = etag("/requests", booker.getId());
+
+        itemService.createItem(owner.getId(), ItemDto.builder()
+                .name("Пила")
+                .description("Ручная пила")
+                .available(true)
+                .requestId(request.getId())
+                .build());
+
+        assertThat(etag("/requests", booker.getId())).isNotEqualTo(etag);
+    }
+
+    private String etag(String uri, long userId) throws Exception {
+        String etag = mvc.perform(get(uri).header(USER_HEADER, userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        assertThat(etag).startsWith("W/\"");
+        return etag;
+    }
+}
@@ -23,6 +23,8 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -75,8 +77,6 @@ public class ItemControllerTest {
                 .request(itemRequest)
                 .build();
 
-        itemRequest.setItems(List.of(item));
-
         itemDto = ItemDto.builder()
                 .id(item.getId())
                 .name(item.getName())
@@ -137,10 +137,24 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.name", is(itemWithBookingAndCommentsDto.getName()), String.class));
     }
 
+    @Test
+    void getItemNotModifiedTest() throws Exception {
+        when(itemService.getItemETag(anyLong(), anyLong())).thenReturn("W/\"1\"");
+
+        mockMvc.perform(get("/items/{id}", itemDtoRequest.getId())
+                        .header("X-Sharer-User-Id", "1")
+                        .header("If-None-Match", "W/\"1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"1\""))
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).getItemDto(anyLong(), anyLong());
+    }
+
     @Test
     void testGetAllTest() throws Exception {
-        when(itemService.getOwnerAllItems(anyLong()))
-                .thenReturn(List.<ItemDto>of(itemDto));
+        when(itemService.getOwnerAllItems(anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(itemWithBookingAndCommentsDto));
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", "1"))
                 .andExpect(status().isOk())
@@ -152,7 +166,7 @@ public class ItemControllerTest {
     @Test
     void testSearchItemsByTextTest() throws Exception {
         String text = "one item";
-        given(itemService.getItemsBySearch(text))
+        given(itemService.getItemsBySearch(text, 0, 10))
                 .willReturn(List.of(itemDto));
 
         mockMvc.perform(get("/items/search")
@@ -164,7 +178,7 @@ public class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(itemSearchOfTextDto))));
 
-        when(itemService.getItemsBySearch("items not found"))
+        when(itemService.getItemsBySearch("items not found", 0, 10))
                 .thenReturn(List.of());
 
         mockMvc.perform(get("/items/search")
@@ -74,7 +74,6 @@ public class CommentRepositoryTest {
                 .request(itemRequest)
                 .build();
         itemRepository.save(item3);
-        itemRequest.setItems(List.of(item3));
         comment = Comment.builder()
                 .text("coll")
                 .author(itemRequest.getRequestor())
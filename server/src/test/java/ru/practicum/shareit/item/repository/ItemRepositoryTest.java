@@ -9,10 +9,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemForItemRequestResponseDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -25,6 +29,8 @@ class ItemRepositoryTest {
     ItemRepository itemRepository;
     @Autowired
     UserRepository userRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
     User user;
 
     @BeforeEach
@@ -51,7 +57,7 @@ class ItemRepositoryTest {
     @Test
     void findAllByOwnerOrderByIdTest() {
         List<Item> itemList = itemRepository
-                .findByOwnerId(user.getId());
+                .findByOwnerId(user.getId(), PageRequest.of(0, 10));
 
         assertNotNull(itemList);
         assertEquals(2, itemList.size());
@@ -68,33 +74,109 @@ class ItemRepositoryTest {
     }
 
     @Test
-    public void getAllItemsWithBlankTextShouldReturnEmptyListTest() {
-        String text = "text";
-        Pageable page = PageRequest.of(0, 10);
+    void searchItemsByTextSkipsUnavailableNameMatchesTest() {
+        itemRepository.save(Item.builder()
+                .name("item3")
+                .description("broken")
+                .available(false)
+                .owner(user)
+                .build());
 
-        Page<Item> actualResult = itemRepository.findByNameOrDescription(text, page);
-        assertEquals(List.of(), actualResult.getContent());
+        List<Item> itemList =
+                itemRepository.findByNameOrDescription("item3", PageRequest.of(0, 10)).getContent();
+
+        assertEquals(List.of(), itemList);
     }
 
     @Test
-    public void findByRequestIdInTest() {
-        List<Item> actualResult = itemRepository.findByRequestIdIn(List.of(user.getId()));
+    void getItemsBySearchRanksNameMatchesFirstTest() {
+        Item byDescription = itemRepository.save(Item.builder()
+                .name("hammer")
+                .description("works like a drill")
+                .available(true)
+                .owner(user)
+                .build());
+        Item byName = itemRepository.save(Item.builder()
+                .name("Cordless DRILL")
+                .description("battery powered")
+                .available(true)
+                .owner(user)
+                .build());
+        itemRepository.save(Item.builder()
+                .name("drill")
+                .description("broken")
+                .available(false)
+                .owner(user)
+                .build());
 
-        assertNotNull(actualResult);
-        assertEquals(0, actualResult.size());
+        List<Item> itemList = itemRepository.getItemsBySearch("drill", PageRequest.of(0, 10));
+
+        assertEquals(List.of(byName.getId(), byDescription.getId()), itemList.stream().map(Item::getId).toList());
+        assertEquals(1, itemRepository.getItemsBySearch("drill", PageRequest.of(0, 1)).size());
     }
 
     @Test
-    public void findAllByRequestIdTest() {
+    void getItemsBySearchMatchesWildcardsLiterallyTest() {
+        Item percent = itemRepository.save(Item.builder()
+                .name("Sale 50% off")
+                .description("drill")
+                .available(true)
+                .owner(user)
+                .build());
+        Item underscore = itemRepository.save(Item.builder()
+                .name("drill_bit")
+                .description("steel")
+                .available(true)
+                .owner(user)
+                .build());
         itemRepository.save(Item.builder()
+                .name("drillXbit")
+                .description("steel")
+                .available(true)
+                .owner(user)
+                .build());
+
+        assertEquals(List.of(percent.getId()), itemRepository.getItemsBySearch("%", PageRequest.of(0, 10)).stream()
+                .map(Item::getId).toList());
+        assertEquals(List.of(underscore.getId()), itemRepository.getItemsBySearch("l_b", PageRequest.of(0, 10))
+                .stream().map(Item::getId).toList());
+    }
+
+    @Test
+    public void getAllItemsWithBlankTextShouldReturnEmptyListTest() {
+        String text = "text";
+        Pageable page = PageRequest.of(0, 10);
+
+        Page<Item> actualResult = itemRepository.findByNameOrDescription(text, page);
+        assertEquals(List.of(), actualResult.getContent());
+    }
+
+    @Test
+    public void findItemsForRequestsTest() {
+        User requestor = userRepository.save(User.builder()
+                .name("requestor")
+                .email("requestor@mail.ru")
+                .build());
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("need item3")
+                .requestor(requestor)
+                .created(LocalDateTime.now())
+                .build());
+        Item item = itemRepository.save(Item.builder()
                 .name("item3")
                 .description("item3 description")
                 .available(true)
                 .owner(user)
+                .request(request)
                 .build());
-        List<Item> actualResult = itemRepository.findAllByRequestId(user.getId());
 
-        assertNotNull(actualResult);
-        assertEquals(0, actualResult.size());
+        List<ItemForItemRequestResponseDto> actualResult =
+                itemRepository.findItemsForRequests(List.of(request.getId(), request.getId() + 1));
+
+        assertEquals(1, actualResult.size());
+        assertEquals(item.getId(), actualResult.getFirst().getId());
+        assertEquals("item3", actualResult.getFirst().getName());
+        assertEquals(request.getId(), actualResult.getFirst().getRequestId());
+        assertEquals(List.of(), itemRepository.findItemsForRequests(List.of(request.getId() + 1)));
     }
 }
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemTextView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(itemRepository, true);
+        when(itemRepository.findSearchableItems(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new View(1L, "Дрель ударная", "Мощная дрель"),
+                new View(2L, "Перфоратор", "Сверлит бетон как дрель"),
+                new View(3L, "Отвёртка", "Аккумуляторная")));
+        index.build();
+    }
+
+    @Test
+    void buildMarksIndexReadyTest() {
+        assertTrue(index.isReady());
+        assertFalse(new ItemSearchIndex(itemRepository, false).isReady());
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstTest() {
+        assertArrayEquals(new long[]{1L, 2L}, index.search("ДРЕЛЬ"));
+        assertArrayEquals(new long[]{1L, 2L}, index.search("дре"));
+        assertArrayEquals(new long[]{3L}, index.search("аккумулятор"));
+        assertArrayEquals(new long[]{2L}, index.search("бетон как дрель"));
+        assertArrayEquals(new long[]{1L}, index.search(" рель уд "));
+        assertArrayEquals(new long[0], index.search("бетон дрель"));
+        assertArrayEquals(new long[0], index.search("пила"));
+        assertArrayEquals(new long[0], index.search(" , "));
+    }
+
+    @Test
+    void searchMatchesQueriesShorterThanTrigramTest() {
+        index.index(Item.builder().id(4L).name("ТВ").description("").available(true).build());
+
+        assertArrayEquals(new long[]{3L, 4L}, index.search("тв"));
+        assertArrayEquals(new long[]{3L, 4L, 2L}, index.search("в"));
+        assertArrayEquals(new long[]{1L, 2L}, index.search("ль"));
+        assertArrayEquals(new long[]{1L, 3L}, index.search("ая"));
+    }
+
+    @Test
+    void indexAndDeleteUpdateSearchResultsTest() {
+        index.index(Item.builder().id(4L).name("Дрель-шуруповёрт").description("Новая").available(true).build());
+        assertArrayEquals(new long[]{1L, 4L, 2L}, index.search("дрель"));
+
+        index.index(Item.builder().id(1L).name("Молоток").description("Тяжёлый").available(true).build());
+        assertArrayEquals(new long[]{4L, 2L}, index.search("дрель"));
+
+        index.index(Item.builder().id(4L).name("Дрель-шуруповёрт").description("Новая").available(false).build());
+        index.delete(2L);
+        assertArrayEquals(new long[0], index.search("дрель"));
+        assertArrayEquals(new long[]{1L}, index.search("молоток"));
+    }
+
+    private record View(Long id, String name, String description) implements ItemTextView {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+    }
+}
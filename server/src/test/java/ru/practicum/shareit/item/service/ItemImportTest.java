@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.error.exception.BadRequestException;
+import ru.practicum.shareit.error.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemImportTest {
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ItemRequestService itemRequestService;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importSavesValidRowsInJdbcBatchesTest() {
+        UserDto owner = userService.createUser(UserDto.builder().name("owner").email("owner@gmail.com").build());
+        UserDto requestor = userService.createUser(UserDto.builder().name("req").email("req@gmail.com").build());
+        ItemRequestResponseDto request = itemRequestService.addItemRequest(requestor.getId(),
+                ItemRequestDto.builder().description("Нужна дрель").build());
+        List<ItemDto> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(ItemDto.builder().name("Дрель " + i).description("Дрель").available(true).build());
+        }
+        rows.get(3).setName(" ");
+        rows.get(7).setRequestId(999L);
+        rows.get(10).setRequestId(request.getId());
+        rows.get(12).setAvailable(null);
+        rows.get(15).setId(123456L);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ItemImportResultDto result = itemService.importItems(owner.getId(), rows);
+
+        int saved = ROWS - 3;
+        assertThat(result.getCreated()).hasSize(saved);
+        assertThat(result.getErrors()).containsExactly(
+                new ItemImportErrorDto(3, "name: Поле не может быть пустым"),
+                new ItemImportErrorDto(7, "Запрос с id 999 не найден"),
+                new ItemImportErrorDto(12, "available: Поле не может быть null"));
+        assertThat(result.getCreated()).extracting(ItemDto::getId).doesNotHaveDuplicates()
+                .doesNotContain(123456L);
+        // Строки 3 и 7 отклонены, поэтому строка 10 в списке сохранённых стоит под индексом 8.
+        assertThat(result.getCreated().get(8).getRequestId()).isEqualTo(request.getId());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(saved);
+        // Проверки пользователя и запросов, а на каждую порцию — одно значение последовательности и один пакет.
+        int batches = (saved + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2 + 2L * batches);
+        assertThat(itemRepository.count()).isEqualTo(saved);
+    }
+
+    @Test
+    void importForUnknownUserFailsTest() {
+        List<ItemDto> rows = List.of(ItemDto.builder().name("Дрель").description("Дрель").available(true).build());
+
+        assertThrows(NotFoundException.class, () -> itemService.importItems(42L, rows));
+    }
+
+    @Test
+    void importOfTooManyRowsIsRejectedTest() {
+        UserDto owner = userService.createUser(UserDto.builder().name("owner").email("owner@gmail.com").build());
+        List<ItemDto> rows = Collections.nCopies(ItemService.MAX_IMPORT_SIZE + 1,
+                ItemDto.builder().name("Дрель").description("Дрель").available(true).build());
+
+        assertThrows(BadRequestException.class, () -> itemService.importItems(owner.getId(), rows));
+        assertThat(itemRepository.count()).isZero();
+    }
+}
@@ -148,7 +148,6 @@ class ItemServiceImplTest {
     @Test
     public void itemDeleteTest() {
         ItemDto itemDto = ItemDto.builder()
-                .id(1L)
                 .name("Item")
                 .description("Item description")
                 .available(true)
@@ -160,10 +159,10 @@ class ItemServiceImplTest {
                 .email("user@mail.ru")
                 .build();
         userService.createUser(user);
-        itemService.createItem(user.getId(), itemDto);
-        assertNotNull(itemService.getOwnerAllItems(1L));
-        itemService.deleteItem(1L);
-        assertEquals(0, itemService.getOwnerAllItems(1L).size());
+        long itemId = itemService.createItem(user.getId(), itemDto).getId();
+        assertNotNull(itemService.getOwnerAllItems(1L, 0, 20));
+        itemService.deleteItem(itemId);
+        assertEquals(0, itemService.getOwnerAllItems(1L, 0, 20).size());
     }
 
     @Test
@@ -174,7 +173,6 @@ class ItemServiceImplTest {
                 .email("user@mail.ru")
                 .build();
         ItemDto itemDto = ItemDto.builder()
-                .id(1L)
                 .name("Item")
                 .description("Item description")
                 .available(true)
@@ -185,9 +183,9 @@ class ItemServiceImplTest {
                 .name("updatedItem")
                 .build();
         userService.createUser(user);
-        itemService.createItem(1L, itemDto);
-        itemService.updateItem(1L, 1L, itemForUpdateDto);
-        assertEquals(itemForUpdateDto.getName(), itemService.getItemDto(1L, 1L).getName());
+        long itemId = itemService.createItem(1L, itemDto).getId();
+        itemService.updateItem(1L, itemId, itemForUpdateDto);
+        assertEquals(itemForUpdateDto.getName(), itemService.getItemDto(1L, itemId).getName());
     }
 
     @Test
@@ -198,7 +196,6 @@ class ItemServiceImplTest {
                 .email("user@mail.ru")
                 .build();
         ItemDto itemDto = ItemDto.builder()
-                .id(1L)
                 .name("Item")
                 .description("Item description")
                 .available(true)
@@ -209,9 +206,9 @@ class ItemServiceImplTest {
                 .description("updatedItem Description")
                 .build();
         userService.createUser(user);
-        itemService.createItem(1L, itemDto);
-        itemService.updateItem(1L, 1L, itemForUpdateDto);
-        assertEquals(itemForUpdateDto.getDescription(), itemService.getItemDto(1L, 1L).getDescription());
+        long itemId = itemService.createItem(1L, itemDto).getId();
+        itemService.updateItem(1L, itemId, itemForUpdateDto);
+        assertEquals(itemForUpdateDto.getDescription(), itemService.getItemDto(1L, itemId).getDescription());
     }
 
     @Test
@@ -222,7 +219,6 @@ class ItemServiceImplTest {
                 .email("user@mail.ru")
                 .build();
         ItemDto itemDto = ItemDto.builder()
-                .id(1L)
                 .name("Item")
                 .description("Item description")
                 .available(true)
@@ -233,9 +229,9 @@ class ItemServiceImplTest {
                 .available(false)
                 .build();
         userService.createUser(user);
-        itemService.createItem(1L, itemDto);
-        itemService.updateItem(1L, 1L, itemForUpdateDto);
-        assertEquals(itemForUpdateDto.getAvailable(), itemService.getItemDto(1L, 1L).getAvailable());
+        long itemId = itemService.createItem(1L, itemDto).getId();
+        itemService.updateItem(1L, itemId, itemForUpdateDto);
+        assertEquals(itemForUpdateDto.getAvailable(), itemService.getItemDto(1L, itemId).getAvailable());
     }
 
     @Test
@@ -246,7 +242,6 @@ class ItemServiceImplTest {
                 .email("user@mail.ru")
                 .build();
         ItemDto itemDto = ItemDto.builder()
-                .id(1L)
                 .name("Item")
                 .description("Item description")
                 .available(true)
@@ -257,9 +252,9 @@ class ItemServiceImplTest {
                 .available(false)
                 .build();
         userService.createUser(user);
-        itemService.createItem(1L, itemDto);
+        long itemId = itemService.createItem(1L, itemDto).getId();
         assertThrows(ValidationException.class,
-                () -> itemService.updateItem(999L, 1L, itemForUpdateDto));;
+                () -> itemService.updateItem(999L, itemId, itemForUpdateDto));
     }
 
     @Test
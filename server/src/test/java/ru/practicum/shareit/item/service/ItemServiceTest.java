@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,6 +12,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -22,10 +25,12 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserGuard;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -51,6 +56,14 @@ public class ItemServiceTest {
     private CommentRepository commentRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+    @Mock
+    private UserGuard userGuard;
+    @Mock
+    private EntityManager entityManager;
 
     private final User owner = User.builder()
             .id(1L)
@@ -179,11 +192,12 @@ public class ItemServiceTest {
                         "Description",
                         true,
                         owner,
+                        null,
                         null)));
         when(commentRepository.findByItemIn(anyList(),
                 any(Sort.class))).thenReturn(Collections.emptyList());
-        when(bookingRepository.findByItemInAndStatus(anyList(),
-                eq(BookingStatus.APPROVED), any(Sort.class))).thenReturn(Collections.emptyList());
+        when(bookingRepository.findLastAndNextBookings(anyList(), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
 
         ItemBookingDto result = itemService.getItemDto(userId, itemId);
 
@@ -269,13 +283,14 @@ public class ItemServiceTest {
                 "Item description",
                 true,
                 owner,
+                null,
                 null);
 
         User author = new User(3L,
                 "test@gmail.com",
                 "Tester");
-        Comment comment1 = new Comment(1L, "text1", item, author, LocalDateTime.now());
-        Comment comment2 = new Comment(1L, "text2", item, author, LocalDateTime.now());
+        Comment comment1 = new Comment(1L, "text1", item, author, LocalDateTime.now(), null);
+        Comment comment2 = new Comment(1L, "text2", item, author, LocalDateTime.now(), null);
         List<Comment> commentList = List.of(comment1, comment2);
         List<CommentDtoResponse> commentDto = CommentMapper.commentDtoList(commentList);
 
@@ -296,8 +311,8 @@ public class ItemServiceTest {
                 .owner(owner)
                 .build();
         List<Comment> comments = List.of(
-                new Comment(1L, "Coll", item, owner, LocalDateTime.now()),
-                new Comment(2L, "Fine", item, owner, LocalDateTime.now())
+                new Comment(1L, "Coll", item, owner, LocalDateTime.now(), null),
+                new Comment(2L, "Fine", item, owner, LocalDateTime.now(), null)
         );
         List<Booking> bookings = List.of(
                 new Booking(1L,
@@ -305,17 +320,20 @@ public class ItemServiceTest {
                         LocalDateTime.now().minusDays(1),
                         item,
                         owner,
-                        BookingStatus.APPROVED),
+                        BookingStatus.APPROVED,
+                        null),
                 new Booking(2L,
                         LocalDateTime.now().plusDays(1),
                         LocalDateTime.now().plusDays(2),
                         item,
                         owner,
-                        BookingStatus.APPROVED)
+                        BookingStatus.APPROVED,
+                        null)
         );
         LocalDateTime now = LocalDateTime.now();
 
-        ItemBookingDto result = itemService.addBookingAndComment(item, 1L, comments, bookings, now);
+        ItemBookingDto result = itemService.addBookingAndComment(item, 1L, comments,
+                BookingMapper.toItemBookingInfoDto(bookings.get(0)), BookingMapper.toItemBookingInfoDto(bookings.get(1)));
 
         assertNotNull(result);
         assertEquals(item.getId(), result.getId());
@@ -352,7 +370,7 @@ public class ItemServiceTest {
 
     @Test
     void searchItemsByTextWhenTextIsBlankTest() {
-        List<ItemDto> itemDtoList = itemService.getItemsBySearch("");
+        List<ItemDto> itemDtoList = itemService.getItemsBySearch("", 0, 10);
 
         assertEquals(List.of(), itemDtoList);
     }
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.cache.enabled=false")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class MetricsTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void serviceMethodsAndTransactionsAreTimedTest() {
+        userService.createUser(UserDto.builder().name("user").email("user@gmail.com").build());
+
+        Timer service = meterRegistry.find("shareit.service").tag("method", "createUser").timer();
+        assertThat(service).isNotNull();
+        assertThat(service.count()).isEqualTo(1);
+        Timer transaction = meterRegistry.find("shareit.transaction").tag("outcome", "commit").timer();
+        assertThat(transaction).isNotNull();
+        assertThat(transaction.count()).isEqualTo(1);
+    }
+
+    @Test
+    void bookingListsAreTaggedByStateTest() throws Exception {
+        UserDto user = userService.createUser(UserDto.builder().name("user").email("user@gmail.com").build());
+
+        mvc.perform(get("/bookings").header(USER_HEADER, user.getId()).param("state", "future"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.find("shareit.service")
+                .tags("method", "getAllBookingByUser", "state", "FUTURE").timer()).isNotNull();
+    }
+
+    @Test
+    void sqlStatementsAreCountedPerRequestTest() throws Exception {
+        UserDto user = userService.createUser(UserDto.builder().name("user").email("user@gmail.com").build());
+
+        mvc.perform(get("/users/{id}", user.getId())).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("shareit.http.sql.statements")
+                .tags("method", "GET", "uri", "/users/{id}").summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(1);
+    }
+}
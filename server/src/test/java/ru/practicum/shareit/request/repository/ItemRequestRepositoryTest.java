@@ -64,7 +64,7 @@ public class ItemRequestRepositoryTest {
     @Test
     void findAllByNotRequesterIdTest() {
         List<ItemRequest> itemRequests = itemRequestRepository
-                .findAllByRequestorIdIsNot(user.getId(), PageRequest.of(0, 2)).getContent();
+                .findAllByRequestorIdIsNot(user.getId(), PageRequest.of(0, 2));
 
         assertNotNull(itemRequests);
         assertEquals(1, itemRequests.size());
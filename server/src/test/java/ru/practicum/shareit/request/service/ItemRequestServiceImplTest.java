@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,7 +9,6 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -25,6 +25,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserForItemRequestDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserGuard;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,6 +42,8 @@ public class ItemRequestServiceImplTest {
     private final ItemRequestRepository mockItemRequestRepository = Mockito.mock(ItemRequestRepository.class);
     private final UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
     private final ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
+    private final UserGuard userGuard = Mockito.spy(new UserGuard(mockUserRepository,
+            Mockito.mock(EntityManagerFactory.class, Mockito.RETURNS_DEEP_STUBS)));
 
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
@@ -75,8 +78,8 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getRequestsInformationEmptyTest() {
-        when(mockUserRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(user));
+        when(mockUserRepository.existsById(anyLong()))
+                .thenReturn(true);
         List<ItemRequestResponseDto> requestDtoList = itemRequestService.getItemRequestsByUserId(user.getId());
         assertEquals(0, requestDtoList.size());
     }
@@ -84,8 +87,8 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getRequestsInformationWrongUserTest() {
-        when(mockUserRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        when(mockUserRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         NotFoundException ex = assertThrows(NotFoundException.class, () -> itemRequestService.getItemRequestsByUserId(1L));
         assertEquals("Пользователь с id 1 не найден", ex.getMessage());
@@ -93,8 +96,8 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getRequestInformationWrongRequestTest() {
-        when(mockUserRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(user));
+        when(mockUserRepository.existsById(anyLong()))
+                .thenReturn(true);
         when(mockItemRequestRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
@@ -122,7 +125,7 @@ public class ItemRequestServiceImplTest {
         Pageable page = PageRequest.of(from / size, size, sort);
         when(mockItemRequestRepository.findAllByRequestorIdIsNot(userId,
                 page))
-                .thenReturn(new PageImpl<>(itemRequests));
+                .thenReturn(itemRequests);
         when(mockUserRepository.findById(requester.getId())).thenReturn(Optional.of(requester));
         List<ItemRequestResponseDto> expectedItemRequestDtoList = new ArrayList<>();
         ItemRequestResponseDto itemRequestDto = new ItemRequestResponseDto();
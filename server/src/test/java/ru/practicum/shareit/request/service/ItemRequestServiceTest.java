@@ -4,6 +4,8 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,7 +28,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @Transactional
 @SpringBootTest(
-        properties = "db.name=test",
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemRequestServiceTest {
@@ -195,10 +197,61 @@ public class ItemRequestServiceTest {
         assertEquals(savedItRequest.getRequestor().getId(), itRequestDtoFromDbObserver.getRequestor().getId());
     }
 
+    @Test
+    void itemRequestListsUseConstantNumberOfStatementsTest() {
+        UserDto savedRequester = userService.createUser(userDtoRequest1);
+        UserDto savedOwner = userService.createUser(userDtoRequest);
+        addRequestsWithItems(savedRequester.getId(), savedOwner.getId(), 1);
+
+        long byUserForOne = countStatements(() ->
+                assertEquals(1, itemRequestService.getItemRequestsByUserId(savedRequester.getId()).size()));
+        long allForOne = countStatements(() ->
+                assertEquals(1, itemRequestService.getAllItemRequests(savedOwner.getId(), 0, 20).size()));
+
+        addRequestsWithItems(savedRequester.getId(), savedOwner.getId(), 5);
+
+        long byUserForSix = countStatements(() -> {
+            List<ItemRequestResponseDto> requests = itemRequestService.getItemRequestsByUserId(savedRequester.getId());
+            assertEquals(6, requests.size());
+            requests.forEach(request -> assertEquals(2, request.getItems().size()));
+        });
+        long allForSix = countStatements(() ->
+                assertEquals(6, itemRequestService.getAllItemRequests(savedOwner.getId(), 0, 20).size()));
+
+        assertEquals(byUserForOne, byUserForSix);
+        assertEquals(allForOne, allForSix);
+    }
+
     @SneakyThrows
     @Test
     public void getAllItemsOfNotExistingUser() {
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.getAllItemRequests(999L, 1, 10));
     }
+
+    private void addRequestsWithItems(long requesterId, long ownerId, int count) {
+        User owner = em.find(User.class, ownerId);
+        for (int i = 0; i < count; i++) {
+            ItemRequest request = em.find(ItemRequest.class,
+                    itemRequestService.addItemRequest(requesterId, requestDto).getId());
+            for (int j = 0; j < 2; j++) {
+                em.persist(Item.builder()
+                        .name("item " + i + "." + j)
+                        .description("item for request " + request.getId())
+                        .available(true)
+                        .owner(owner)
+                        .request(request)
+                        .build());
+            }
+        }
+        em.flush();
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        em.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
 }
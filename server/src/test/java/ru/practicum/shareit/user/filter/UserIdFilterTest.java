@@ -0,0 +1,105 @@
+package ru.practicum.shareit.user.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class UserIdFilterTest {
+    private final UserService userService;
+    private final UserIdFilter userIdFilter;
+
+    @Test
+    void createdUsersArePublishedTest() throws IOException {
+        UserDto first = userService.createUser(UserDto.builder().name("first").email("first@gmail.com").build());
+        UserDto second = userService.createUser(UserDto.builder().name("second").email("second@gmail.com").build());
+
+        PublishedFilter filter = PublishedFilter.parse(userIdFilter.snapshot().content());
+
+        assertThat(filter.coveredUpTo()).isEqualTo(second.getId());
+        assertThat(filter.mightContain(first.getId())).isTrue();
+        assertThat(filter.mightContain(second.getId())).isTrue();
+    }
+
+    @Test
+    void snapshotChangesOnlyAfterUserIsCreatedTest() {
+        userService.createUser(UserDto.builder().name("first").email("first@gmail.com").build());
+        UserIdFilterSnapshot snapshot = userIdFilter.snapshot();
+
+        assertThat(userIdFilter.snapshot()).isSameAs(snapshot);
+
+        userService.createUser(UserDto.builder().name("second").email("second@gmail.com").build());
+
+        assertThat(userIdFilter.snapshot().etag()).isNotEqualTo(snapshot.etag());
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesTest() {
+        int expected = 10_000;
+        BloomFilter filter = BloomFilter.create(expected, 0.01, Long.MAX_VALUE);
+        for (long id = 1; id <= expected; id++) {
+            filter.add(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 1; id <= expected; id++) {
+            assertThat(filter.mightContain(id)).isTrue();
+        }
+        for (long id = expected + 1; id <= expected + 100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void bloomFilterRespectsMemoryBudgetTest() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.001, 8 * 1024 * 8);
+
+        assertThat(filter.sizeInBytes()).isEqualTo(8 * 1024);
+    }
+
+    /**
+     * Разбор опубликованного фильтра по формату из {@link UserIdFilter}, как это делает шлюз.
+     */
+    private record PublishedFilter(long coveredUpTo, int hashes, long[] words) {
+        static PublishedFilter parse(byte[] content) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+            assertThat(in.readInt()).isEqualTo(UserIdFilter.FORMAT_VERSION);
+            long coveredUpTo = in.readLong();
+            int hashes = in.readInt();
+            long[] words = new long[in.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            return new PublishedFilter(coveredUpTo, hashes, words);
+        }
+
+        boolean mightContain(long id) {
+            long bits = words.length * 64L;
+            long h1 = BloomFilter.mix(id);
+            long h2 = BloomFilter.mix(id ^ BloomFilter.SEED);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+                if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
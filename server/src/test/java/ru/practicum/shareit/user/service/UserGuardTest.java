@@ -0,0 +1,92 @@
+package ru.practicum.shareit.user.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.error.exception.NotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserGuardTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+    @InjectMocks
+    private UserGuard userGuard;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void userIsCheckedOncePerRequestTest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        userGuard.checkExists(1L);
+        userGuard.checkExists(1L);
+        userGuard.reference(1L);
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void userIsCheckedAgainInNextRequestTest() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        userGuard.checkExists(1L);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        userGuard.checkExists(1L);
+
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void userIsCheckedEveryTimeOutsideRequestTest() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        userGuard.checkExists(1L);
+        userGuard.checkExists(1L);
+
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void cachedUserIsCheckedWithoutQueryTest() {
+        when(entityManagerFactory.getCache().contains(User.class, 1L)).thenReturn(true);
+
+        userGuard.checkExists(1L);
+
+        verify(userRepository, never()).existsById(1L);
+    }
+
+    @Test
+    void missingUserIsNotRememberedTest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.existsById(5L)).thenReturn(false);
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> userGuard.checkExists(5L));
+        assertThrows(NotFoundException.class, () -> userGuard.reference(5L));
+
+        assertEquals("Пользователь с id 5 не найден", ex.getMessage());
+        verify(userRepository, times(2)).existsById(5L);
+    }
+}
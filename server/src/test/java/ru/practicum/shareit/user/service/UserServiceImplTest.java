@@ -8,8 +8,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
 import ru.practicum.shareit.error.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -31,6 +34,12 @@ UserServiceImplTest {
     private UserService userService;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+    @Autowired
+    private UserIdFilter userIdFilter;
     UserDto userDto1;
     User user1;
     UserDto userDto2;
@@ -41,7 +50,7 @@ UserServiceImplTest {
 
     @BeforeEach
     void setUp() {
-    userService = new UserServiceImpl(userRepository);
+    userService = new UserServiceImpl(userRepository, itemAvailabilityIndex, entityCacheEvictor, userIdFilter);
         userDto1 = UserDto.builder()
                 .name("userDto1")
                 .email("userDto1@mail.ru")
@@ -6,8 +6,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
 import ru.practicum.shareit.error.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -15,6 +18,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static java.util.Optional.empty;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -30,6 +34,12 @@ public class UserServiceTest {
     private UserServiceImpl userService;
     @Mock
     private UserRepository repository;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+    @Mock
+    private UserIdFilter userIdFilter;
 
     private final User user = new User(1L, "user1", "user1@mail.ru");
     private final UserDto userDtoRequest = new UserDto(1L, "user1", "user1@mail.ru");
@@ -41,6 +51,8 @@ public class UserServiceTest {
     public void createUserTest() {
         when(repository.save(any()))
                 .thenReturn(user);
+        when(userIdFilter.registerNew(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<User>>getArgument(0).get());
 
         assertThat(userService.createUser(userDtoRequest), equalTo(userDtoResponse));
     }